@@ -0,0 +1,207 @@
+/*
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+
+package org.vaadin.tltv.gantt;
+
+import java.util.function.Supplier;
+
+import org.jspecify.annotations.Nullable;
+import org.vaadin.tltv.gantt.metrics.GanttMetrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JDK Flight Recorder events of {@link Gantt}. Events are recorded only while
+ * a flight recording with them enabled is running. Events are created with the
+ * <code>begin</code> methods, which return null without allocating anything
+ * when the event type is not enabled, so callers set the fields and commit
+ * only non-null events. Events of the operations timed for
+ * {@link GanttMetrics} are committed when the operation ends, other events set
+ * their fields only when {@link Event#shouldCommit()} returns true.
+ */
+final class FlightRecorderEvents {
+
+	private static final String CATEGORY = "Gantt";
+
+	private static final EventType STEP_MOVE = EventType.getEventType(StepMove.class);
+	private static final EventType BULK_ADD = EventType.getEventType(BulkAdd.class);
+	private static final EventType BULK_REMOVE = EventType.getEventType(BulkRemove.class);
+	private static final EventType TREE_SYNC = EventType.getEventType(TreeSync.class);
+	private static final EventType DATA_CHANGE_DISPATCH = EventType.getEventType(DataChangeDispatch.class);
+	private static final EventType ROW_SYNC = EventType.getEventType(RowSync.class);
+	private static final EventType CLIENT_EVENT = EventType.getEventType(ClientEvent.class);
+	private static final EventType STEP_FLUSH = EventType.getEventType(StepFlush.class);
+
+	private FlightRecorderEvents() {
+	}
+
+	static @Nullable StepMove beginStepMove() {
+		return begin(STEP_MOVE, StepMove::new);
+	}
+
+	static @Nullable BulkAdd beginBulkAdd() {
+		return begin(BULK_ADD, BulkAdd::new);
+	}
+
+	static @Nullable BulkRemove beginBulkRemove() {
+		return begin(BULK_REMOVE, BulkRemove::new);
+	}
+
+	static @Nullable TreeSync beginTreeSync() {
+		return begin(TREE_SYNC, TreeSync::new);
+	}
+
+	static @Nullable DataChangeDispatch beginDataChangeDispatch() {
+		return begin(DATA_CHANGE_DISPATCH, DataChangeDispatch::new);
+	}
+
+	static @Nullable RowSync beginRowSync() {
+		return begin(ROW_SYNC, RowSync::new);
+	}
+
+	static @Nullable ClientEvent beginClientEvent() {
+		return begin(CLIENT_EVENT, ClientEvent::new);
+	}
+
+	static @Nullable StepFlush beginStepFlush() {
+		return begin(STEP_FLUSH, StepFlush::new);
+	}
+
+	/**
+	 * Returns a new begun event of the given type, or null if the type is not
+	 * enabled in any running recording.
+	 */
+	private static <E extends Event> @Nullable E begin(EventType type, Supplier<E> factory) {
+		if (!type.isEnabled()) {
+			return null;
+		}
+		E event = factory.get();
+		event.begin();
+		return event;
+	}
+
+	@Name("gantt.StepMove")
+	@Label("Step Move")
+	@Category(CATEGORY)
+	@Description("Step or sub step moved to another row")
+	static final class StepMove extends Event {
+		@Label("UID")
+		String uid;
+		@Label("Sub Step")
+		boolean subStep;
+		@Label("From Row")
+		int fromRow;
+		@Label("To Row")
+		int toRow;
+		@Label("From Client")
+		boolean fromClient;
+	}
+
+	@Name("gantt.BulkAdd")
+	@Label("Bulk Add")
+	@Category(CATEGORY)
+	@Description("Steps added as one block")
+	static final class BulkAdd extends Event {
+		@Label("Row")
+		int row;
+		@Label("Step Count")
+		int stepCount;
+		@Label("First UID")
+		String firstUid;
+	}
+
+	@Name("gantt.BulkRemove")
+	@Label("Bulk Remove")
+	@Category(CATEGORY)
+	@Description("Steps and sub steps removed at once")
+	static final class BulkRemove extends Event {
+		@Label("Step Count")
+		int stepCount;
+		@Label("First UID")
+		String firstUid;
+	}
+
+	@Name("gantt.TreeSync")
+	@Label("Tree Sync")
+	@Category(CATEGORY)
+	@Description("Rows synchronized with the caption tree grid, or tree data with the rows")
+	static final class TreeSync extends Event {
+		@Label("Operation")
+		String operation;
+		@Label("Step Count")
+		int stepCount;
+		@Label("First UID")
+		String firstUid;
+	}
+
+	@Name("gantt.DataChangeDispatch")
+	@Label("Data Change Dispatch")
+	@Category(CATEGORY)
+	@Description("GanttDataChangeEvent fired to its listeners")
+	static final class DataChangeDispatch extends Event {
+		@Label("Data Event")
+		String dataEvent;
+		@Label("Step Count")
+		int stepCount;
+		@Label("First UID")
+		String firstUid;
+	}
+
+	@Name("gantt.RowSync")
+	@Label("Row Sync")
+	@Category(CATEGORY)
+	@Description("Rendered rows or step data synchronized with the client")
+	static final class RowSync extends Event {
+		@Label("Data Mode")
+		boolean dataMode;
+		@Label("Step Count")
+		int stepCount;
+		@Label("Rendered Count")
+		int renderedCount;
+	}
+
+	@Name("gantt.ClientEvent")
+	@Label("Client Event")
+	@Category(CATEGORY)
+	@Description("Step move or resize event from the client handled by the Gantt")
+	static final class ClientEvent extends Event {
+		@Label("Event Type")
+		String eventType;
+		@Label("UID")
+		String uid;
+	}
+
+	@Name("gantt.StepFlush")
+	@Label("Step Flush")
+	@Category(CATEGORY)
+	@Description("Changed fields of the steps written to their elements before the client response")
+	static final class StepFlush extends Event {
+		@Label("Step Count")
+		int stepCount;
+		@Label("First UID")
+		String firstUid;
+	}
+}
@@ -22,25 +22,33 @@
 package org.vaadin.tltv.gantt;
 
 import static java.util.Optional.ofNullable;
+import java.io.Serializable;
 import java.text.DateFormatSymbols;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.Deque;
 import java.util.GregorianCalendar;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TimeZone;
 import java.util.UUID;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import org.jspecify.annotations.Nullable;
 import org.vaadin.tltv.gantt.element.StepElement;
@@ -50,13 +58,18 @@ import org.vaadin.tltv.gantt.event.GanttDataChangeEvent.DataEvent;
 import org.vaadin.tltv.gantt.event.StepClickEvent;
 import org.vaadin.tltv.gantt.event.StepMoveEvent;
 import org.vaadin.tltv.gantt.event.StepResizeEvent;
+import org.vaadin.tltv.gantt.metrics.GanttMetrics;
 import org.vaadin.tltv.gantt.model.GanttStep;
 import org.vaadin.tltv.gantt.model.Resolution;
 import org.vaadin.tltv.gantt.model.Step;
 import org.vaadin.tltv.gantt.model.SubStep;
 import org.vaadin.tltv.gantt.util.GanttUtil;
+import com.vaadin.flow.component.AttachEvent;
+import com.vaadin.flow.component.ClientCallable;
 import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.ComponentEvent;
 import com.vaadin.flow.component.ComponentEventListener;
+import com.vaadin.flow.component.DetachEvent;
 import com.vaadin.flow.component.HasSize;
 import com.vaadin.flow.component.Tag;
 import com.vaadin.flow.component.dependency.CssImport;
@@ -64,13 +77,23 @@ import com.vaadin.flow.component.dependency.JsModule;
 import com.vaadin.flow.component.dependency.NpmPackage;
 import com.vaadin.flow.component.grid.Grid;
 import com.vaadin.flow.component.grid.Grid.Column;
+import com.vaadin.flow.component.page.PendingJavaScriptResult;
 import com.vaadin.flow.component.treegrid.TreeGrid;
+import com.vaadin.flow.data.provider.CallbackDataProvider.CountCallback;
+import com.vaadin.flow.data.provider.CallbackDataProvider.FetchCallback;
+import com.vaadin.flow.data.provider.DataChangeEvent.DataRefreshEvent;
+import com.vaadin.flow.data.provider.DataProvider;
+import com.vaadin.flow.data.provider.Query;
 import com.vaadin.flow.data.provider.hierarchy.TreeData;
 import com.vaadin.flow.data.provider.hierarchy.TreeDataProvider;
 import com.vaadin.flow.data.renderer.LitRenderer;
+import com.vaadin.flow.dom.Element;
 import com.vaadin.flow.internal.JacksonUtils;
 import com.vaadin.flow.shared.Registration;
 import tools.jackson.databind.node.ArrayNode;
+import tools.jackson.databind.node.ObjectNode;
+
+import jdk.jfr.Event;
 
 /**
  * Gantt is a component that shows Gantt chart which is by definition
@@ -90,13 +113,75 @@ import tools.jackson.databind.node.ArrayNode;
 @NpmPackage(value = "date-fns", version = "4.1.0") // remove when tltv-gantt-element>1.0.30
 @NpmPackage(value = "date-fns-tz", version = "3.0.0") // remove when tltv-gantt-element>1.0.30
 @JsModule("tltv-gantt-element/dist/src/gantt-element.js")
+@JsModule("./gantt-connector.js")
 @CssImport(value = "gantt-grid.css", themeFor = "vaadin-grid")
 public class Gantt extends Component implements HasSize {
 
+	/** Attributes that {@link StepElement#refresh()} sets for every step. */
+	private static final Set<String> REUSABLE_ATTRIBUTES = Set.of("caption", "backgroundColor", "start", "end");
+
+	/**
+	 * Rough cost of re-attaching a child element, in steps of the scan that Flow
+	 * does over the list changes of the round trip for each removed child.
+	 */
+	private static final int CHILD_REATTACH_COST = 1000;
+
 	private Grid<Step> captionGrid;
 	private Registration captionGridDataChangeListener;
 	private Registration captionGridColumnResizeListener;
 	private final Set<ComponentEventListener<StepMoveEvent>> moveListeners = new HashSet<>();
+	/** All steps and sub-steps by their UID. */
+	private final Map<String, GanttStep> stepIndex = new HashMap<>();
+	/** Sub-steps in their order by the owner step UID. */
+	private final Map<String, Map<String, SubStep>> subStepIndex = new HashMap<>();
+	/** Owner step UID by the sub-step UID. */
+	private final Map<String, String> subStepOwnerIndex = new HashMap<>();
+	/** Row order of the step UIDs, excluding sub-steps. */
+	private final StepRowIndex stepRowIndex = new StepRowIndex();
+	/** Rendered step and sub-step elements by their UID. */
+	private final Map<String, StepElement> stepElementIndex = new HashMap<>();
+	/**
+	 * Numbers of step and sub-step elements in {@link #stepElementIndex}.
+	 * Volatile, as metrics gauges read them outside the session lock.
+	 */
+	private volatile int stepElementCount;
+	private volatile int subStepElementCount;
+	/** Virtual rendering, see {@link #setVirtualRows(boolean)} and {@link #setVirtualTimeRange(boolean)}. */
+	private boolean virtualRows;
+	private boolean virtualTimeRange;
+	private final StepIntervalIndex stepIntervalIndex = new StepIntervalIndex();
+	private double visibleTimeFrom;
+	private double visibleTimeTo = 1;
+	private int virtualRowsOverscan = 20;
+	private int visibleFirstRow;
+	private int visibleRowCount = 50;
+	private boolean pendingRowSync;
+	private final Deque<StepElement> stepElementPool = new ArrayDeque<>();
+	private final List<Element> rowSpacers = new ArrayList<>();
+	/** Data provider of the steps, see {@link #setDataProvider(DataProvider)}. */
+	private DataProvider<Step, ?> dataProvider;
+	private Registration dataProviderListenerRegistration;
+	private final StepPageCache stepPageCache = new StepPageCache();
+	/** Data mode, see {@link #setDataMode(boolean)}. */
+	private boolean dataMode;
+	private final Set<String> decoratedUids = new HashSet<>();
+	private final Set<String> dirtyDataUids = new HashSet<>();
+	/** Step UIDs in the order they are in the client, or null if client has none. */
+	private List<String> sentDataUids;
+	/** Depth of nested {@link #beginUpdate()} calls. */
+	private int updateDepth;
+	private final PendingDataChanges pendingDataChanges = new PendingDataChanges();
+	private boolean pendingCaptionGridRefresh;
+	/** Client calls that are flushed once before the next client response. */
+	private boolean pendingHorizontalScrollbarRefresh;
+	private boolean pendingUpdateSize;
+	private boolean clientCallsScheduled;
+	/** Steps with changed fields to be flushed to their elements. */
+	private final List<GanttStep> changedSteps = new ArrayList<>();
+	/** Optional instrumentation, see {@link #setMetrics(GanttMetrics)}. */
+	private GanttMetrics metrics;
+	/** Depth of the running operations, only the outermost one is timed. */
+	private int operationDepth;
 
 	/**
 	 * Default contructor with default settings. Sets locale to match
@@ -105,11 +190,24 @@ public class Gantt extends Component implements HasSize {
 	public Gantt() {
 		setupDefaults();
 		addListener(StepMoveEvent.class, event -> {
+			FlightRecorderEvents.ClientEvent clientEvent = FlightRecorderEvents.beginClientEvent();
+			recordClientEvent(StepMoveEvent.class);
 			// dates and position are synchronized automatically to server side model
-			event.getAnyStep().setStartDate(event.getStart());
-			event.getAnyStep().setEndDate(event.getEnd());
-			moveStep(indexOf(event.getNewUid()), event.getAnyStep(), true);
+			GanttStep step = event.getAnyStep();
+			step.setStartDate(event.getStart());
+			step.setEndDate(event.getEnd());
+			if (dataProvider == null) {
+				moveStep(indexOf(event.getNewUid()), step, true);
+			} else {
+				refresh(step.getUid());
+			}
 			fireMoveListeners(event);
+			commitClientEvent(clientEvent, StepMoveEvent.class, event.getUid());
+		});
+		addListener(StepResizeEvent.class, event -> {
+			FlightRecorderEvents.ClientEvent clientEvent = FlightRecorderEvents.beginClientEvent();
+			recordClientEvent(StepResizeEvent.class);
+			commitClientEvent(clientEvent, StepResizeEvent.class, event.getUid());
 		});
 	}
 
@@ -374,6 +472,839 @@ public class Gantt extends Component implements HasSize {
 		return getElement().getProperty("movableStepsBetweenRows", true);
 	}
 
+	/**
+	 * Enables or disables virtual rows. With virtual rows, step components are
+	 * created only for the rows that are visible in the client, and for
+	 * {@link #getVirtualRowsOverscan()} rows before and after them. Rows that are
+	 * not rendered are replaced by placeholder elements, so that the scrollable
+	 * height still matches the total number of rows. Client reports the visible
+	 * rows while scrolling, and the step components are reused for the newly
+	 * visible rows when possible.
+	 * <p>
+	 * Steps themselves are kept in this component, so all the methods dealing with
+	 * {@link Step}s and {@link SubStep}s, like {@link #getSteps()},
+	 * {@link #indexOf(Step)}, {@link #moveStep(int, Step)} and the step events,
+	 * work for all the rows. Methods returning {@link StepElement}s, like
+	 * {@link #getStepElement(String)} and {@link #addStep(Step)}, return only the
+	 * rendered components, and changes to the rendered rows are applied before the
+	 * client response. Component customizations like context menus and tooltips
+	 * are lost when a row goes out of the rendered rows, so they are better to be
+	 * added to this component than to the individual step components. Default is
+	 * <code>false</code>.
+	 *
+	 * @param enabled <code>true</code> to render only the visible rows
+	 * @throws IllegalStateException when disabling with a data provider
+	 * @see #setVirtualTimeRange(boolean)
+	 */
+	public void setVirtualRows(boolean enabled) {
+		if (virtualRows == enabled) {
+			return;
+		}
+		if (!enabled && dataProvider != null) {
+			throw new IllegalStateException("Virtual rows can't be disabled with a data provider");
+		}
+		checkNoDataMode();
+		virtualRows = enabled;
+		getElement().setProperty("virtualRows", enabled);
+		onVirtualRenderingChange();
+	}
+
+	/**
+	 * Returns <code>true</code> when virtual rows are enabled. See
+	 * {@link #setVirtualRows(boolean)}.
+	 */
+	public boolean isVirtualRows() {
+		return virtualRows;
+	}
+
+	/**
+	 * Set number of rows rendered before and after the visible rows when
+	 * {@link #setVirtualRows(boolean) virtual rows} are enabled. Larger overscan
+	 * means less updates while scrolling but more components. Default is 20.
+	 *
+	 * @param rows Number of rows, zero or more
+	 */
+	public void setVirtualRowsOverscan(int rows) {
+		if (rows < 0) {
+			throw new IllegalArgumentException("Overscan can't be negative");
+		}
+		virtualRowsOverscan = rows;
+		getElement().setProperty("virtualRowsOverscan", rows);
+		if (isVirtualRendering()) {
+			scheduleRowSync();
+		}
+	}
+
+	/**
+	 * Returns number of rows rendered before and after the visible rows. See
+	 * {@link #setVirtualRowsOverscan(int)}.
+	 */
+	public int getVirtualRowsOverscan() {
+		return virtualRowsOverscan;
+	}
+
+	/**
+	 * Enables or disables virtual time range. With virtual time range, step
+	 * components are created only for the steps that overlap the part of the
+	 * timeline that is visible in the client. Also the width of the visible part
+	 * is rendered before and after it, so that short scrolls don't need a round
+	 * trip. Before the client reports the visible part, the whole timeline between
+	 * the start and end dates is used. Steps outside of the timeline are never
+	 * rendered. Sub-steps are rendered with their owner step, and the owner is
+	 * rendered when it or any of its sub-steps overlaps the visible part.
+	 * <p>
+	 * Steps are found by their dates from an index that is kept up to date when
+	 * steps are added, moved or removed with this component, and for the rendered
+	 * steps. After changing dates of a step that is not rendered, call
+	 * {@link #refresh(String)} to update it. Rows of the steps that are not
+	 * rendered are replaced by placeholder elements like with
+	 * {@link #setVirtualRows(boolean)}, and the same limitations apply. Both can
+	 * be enabled at the same time. Default is <code>false</code>.
+	 *
+	 * @param enabled <code>true</code> to render only the steps in the visible
+	 *                part of the timeline
+	 */
+	public void setVirtualTimeRange(boolean enabled) {
+		if (virtualTimeRange == enabled) {
+			return;
+		}
+		checkNoDataMode();
+		virtualTimeRange = enabled;
+		getElement().setProperty("virtualTimeRange", enabled);
+		stepIntervalIndex.clear();
+		if (enabled) {
+			// with a data provider only the cached pages are indexed, the rest when fetched.
+			stepIndex.values().stream().filter(step -> !step.isSubstep()).map(Step.class::cast)
+					.forEach(this::indexStepDates);
+		}
+		onVirtualRenderingChange();
+	}
+
+	/**
+	 * Returns <code>true</code> when virtual time range is enabled. See
+	 * {@link #setVirtualTimeRange(boolean)}.
+	 */
+	public boolean isVirtualTimeRange() {
+		return virtualTimeRange;
+	}
+
+	/**
+	 * Sets a data provider that provides the steps by their rows, instead of adding
+	 * all the steps to this component. Steps are fetched in pages of
+	 * {@link #getPageSize()} steps for the rendered rows, and at most
+	 * {@link #getMaxCachedPages()} pages are kept in memory. Existing steps of this
+	 * component are removed, and {@link #setVirtualRows(boolean) virtual rows} are
+	 * enabled. Setting <code>null</code> removes the data provider, leaving this
+	 * component without steps.
+	 * <p>
+	 * With a data provider, steps are changed in the data source, followed by
+	 * {@link DataProvider#refreshAll()}, or {@link DataProvider#refreshItem(Object)}
+	 * for a changed step that keeps its row. Steps should have a stable UID, like
+	 * an identifier from the data source. Methods that add, move or remove steps,
+	 * sub steps and the caption {@link TreeGrid} are not supported. Steps moved by
+	 * the user get their new dates, and {@link #addStepMoveListener(ComponentEventListener)
+	 * move listeners} are responsible for changing the row in the data source. Only
+	 * cached steps are found by their UID, like with {@link #getAnyStep(String)},
+	 * {@link #indexOf(String)} and {@link #contains(String)}, but
+	 * {@link #getStep(int)} fetches the step when needed, and {@link #getSteps()}
+	 * pages through the data provider.
+	 *
+	 * @param dataProvider Data provider for the steps, or null
+	 */
+	public void setDataProvider(DataProvider<Step, ?> dataProvider) {
+		if (dataProvider != null && getCaptionTreeGrid() != null) {
+			throw new IllegalStateException("Data provider can't be used with the caption TreeGrid");
+		}
+		if (dataProvider != null) {
+			checkNoDataMode();
+		}
+		if (dataProviderListenerRegistration != null) {
+			dataProviderListenerRegistration.remove();
+			dataProviderListenerRegistration = null;
+		}
+		clearSteps();
+		this.dataProvider = dataProvider;
+		if (dataProvider != null) {
+			dataProviderListenerRegistration = dataProvider.addDataProviderListener(event -> {
+				if (event instanceof DataRefreshEvent<Step> refreshEvent) {
+					refreshProvidedStep(refreshEvent.getItem());
+				} else {
+					refreshProvidedSteps();
+				}
+			});
+			virtualRows = true;
+			getElement().setProperty("virtualRows", true);
+		}
+		onVirtualRenderingChange();
+		refreshCaptionGrid();
+	}
+
+	/**
+	 * Sets callbacks that provide the steps by their rows. Same as
+	 * {@link #setDataProvider(DataProvider)} with
+	 * {@link DataProvider#fromCallbacks(FetchCallback, CountCallback)}.
+	 *
+	 * @param fetchCallback Callback returning steps for the offset and limit of
+	 *                      the query
+	 * @param countCallback Callback returning total number of steps
+	 */
+	public void setItems(FetchCallback<Step, Void> fetchCallback, CountCallback<Step, Void> countCallback) {
+		setDataProvider(DataProvider.fromCallbacks(fetchCallback, countCallback));
+	}
+
+	/**
+	 * Returns data provider set with {@link #setDataProvider(DataProvider)}, or
+	 * null if steps are added to this component.
+	 */
+	public DataProvider<Step, ?> getDataProvider() {
+		return dataProvider;
+	}
+
+	/**
+	 * Set number of steps fetched at once from the data provider. Default is 50.
+	 *
+	 * @param pageSize Number of steps, one or more
+	 */
+	public void setPageSize(int pageSize) {
+		if (pageSize < 1) {
+			throw new IllegalArgumentException("Page size must be at least one");
+		}
+		if (pageSize != stepPageCache.getPageSize()) {
+			stepPageCache.setPageSize(pageSize);
+			if (dataProvider != null) {
+				refreshProvidedSteps();
+			}
+		}
+	}
+
+	/**
+	 * Returns number of steps fetched at once from the data provider. See
+	 * {@link #setPageSize(int)}.
+	 */
+	public int getPageSize() {
+		return stepPageCache.getPageSize();
+	}
+
+	/**
+	 * Set maximum number of pages of steps kept in memory with a data provider.
+	 * Least recently used pages are evicted first. Pages of the rendered rows are
+	 * kept even when there are more of them. Default is 20.
+	 *
+	 * @param maxCachedPages Number of pages, one or more
+	 */
+	public void setMaxCachedPages(int maxCachedPages) {
+		if (maxCachedPages < 1) {
+			throw new IllegalArgumentException("Maximum number of cached pages must be at least one");
+		}
+		stepPageCache.setMaxPages(maxCachedPages);
+	}
+
+	/**
+	 * Returns maximum number of pages of steps kept in memory. See
+	 * {@link #setMaxCachedPages(int)}.
+	 */
+	public int getMaxCachedPages() {
+		return stepPageCache.getMaxPages();
+	}
+
+	/**
+	 * Removes all steps and their elements without firing events. Step elements
+	 * are removed like single removed steps, with their context menus cleared.
+	 * Other child elements are kept.
+	 */
+	private void clearSteps() {
+		stepElementIndex.values().forEach(stepElement -> {
+			if (!stepElement.getModel().isSubstep()) {
+				stepElement.removeFromParent();
+			}
+			if (stepElement.getModel().getElement() == stepElement) {
+				stepElement.getModel().setElement(null);
+			}
+		});
+		rowSpacers.forEach(Element::removeFromParent);
+		stepElementIndex.clear();
+		stepElementCount = 0;
+		subStepElementCount = 0;
+		stepIndex.values().forEach(step -> step.setChangeListener(null));
+		stepIndex.clear();
+		changedSteps.clear();
+		subStepIndex.clear();
+		subStepOwnerIndex.clear();
+		stepRowIndex.clear();
+		stepIntervalIndex.clear();
+		stepPageCache.clear();
+		stepElementPool.clear();
+		rowSpacers.clear();
+	}
+
+	private void refreshProvidedSteps() {
+		stepElementIndex.values().stream().filter(stepElement -> !stepElement.getModel().isSubstep()).toList()
+				.forEach(this::releaseStepElement);
+		stepPageCache.clear().forEach(this::unindexStep);
+		scheduleRowSync();
+		refreshCaptionGrid();
+	}
+
+	private void refreshProvidedStep(Step step) {
+		Step previous = stepPageCache.replace(ensureUID(step));
+		if (previous == null) {
+			return;
+		}
+		unindexStep(previous);
+		indexStep(step);
+		var stepElement = getStepElement(step.getUid());
+		if (stepElement != null) {
+			stepElement.setModel(step);
+		}
+		if (virtualTimeRange) {
+			scheduleRowSync();
+		}
+		refreshCaptionGridItem(step);
+	}
+
+	private void checkNoDataProvider() {
+		if (dataProvider != null) {
+			throw new IllegalStateException(
+					"Steps are provided by a data provider. Change them in the data source and refresh the data provider.");
+		}
+	}
+
+	private int getRowCount() {
+		if (dataProvider == null) {
+			return stepRowIndex.size();
+		}
+		if (stepPageCache.getSize() < 0) {
+			stepPageCache.setSize(dataProvider.size(new Query<>()));
+		}
+		return stepPageCache.getSize();
+	}
+
+	/**
+	 * Returns UID of the step at the given row. With a data provider, page of the
+	 * row is fetched when needed, and null is returned if data provider returns
+	 * less steps than expected.
+	 */
+	private String getRowUid(int row) {
+		if (dataProvider == null) {
+			return stepRowIndex.get(row);
+		}
+		return ofNullable(getProvidedStep(row)).map(Step::getUid).orElse(null);
+	}
+
+	private int getRowOf(String uid) {
+		return dataProvider == null ? stepRowIndex.indexOf(uid) : stepPageCache.indexOf(uid);
+	}
+
+	private Step getProvidedStep(int row) {
+		int page = stepPageCache.getPage(row);
+		if (!stepPageCache.isLoaded(page)) {
+			int pageSize = stepPageCache.getPageSize();
+			List<Step> steps = fetchSteps(dataProvider, page * pageSize, pageSize).map(this::ensureUID).toList();
+			steps.stream().map(Step::getUid).map(stepIndex::get).filter(Objects::nonNull).toList()
+					.forEach(this::unindexStep);
+			stepPageCache.putPage(page, steps);
+			steps.forEach(this::indexStep);
+		}
+		return stepPageCache.get(row);
+	}
+
+	private static <F> Stream<Step> fetchSteps(DataProvider<Step, F> dataProvider, int offset, int limit) {
+		return dataProvider.fetch(new Query<>(offset, limit, List.of(), null, null));
+	}
+
+	/**
+	 * Enables or disables data mode. In data mode steps are sent to the client as
+	 * JSON data, and elements for them are created in the client, instead of
+	 * creating a {@link StepElement} component for each step. Changes are sent as
+	 * patches once before the client response. This takes considerably less
+	 * memory in the server, and is meant for charts where most of the steps are
+	 * not customized.
+	 * <p>
+	 * Components are created only for the steps given to
+	 * {@link #decorateStep(String)}, which is the way to add context menus,
+	 * tooltips and child components to a step. Methods dealing with
+	 * {@link Step}s and {@link SubStep}s and the step events work as usual. Methods
+	 * returning {@link StepElement}s return only decorated steps. Changes to the
+	 * dates, caption or color of a step are sent with {@link #refresh(String)}, or
+	 * when the step is moved with this component. Data mode can't be used together
+	 * with {@link #setVirtualRows(boolean) virtual rows},
+	 * {@link #setVirtualTimeRange(boolean) virtual time range} or a
+	 * {@link #setDataProvider(DataProvider) data provider}. Default is
+	 * <code>false</code>.
+	 *
+	 * @param enabled <code>true</code> to send steps as data
+	 * @throws IllegalStateException if virtual rendering or data provider is used
+	 */
+	public void setDataMode(boolean enabled) {
+		if (dataMode == enabled) {
+			return;
+		}
+		if (enabled && (virtualRows || virtualTimeRange || dataProvider != null)) {
+			throw new IllegalStateException(
+					"Data mode can't be used with virtual rows, virtual time range or a data provider");
+		}
+		dataMode = enabled;
+		decoratedUids.clear();
+		dirtyDataUids.clear();
+		sentDataUids = null;
+		if (enabled) {
+			scheduleRowSync();
+		} else {
+			executeJs("this.$connector && this.$connector.applyStepData([{type: 'reset', steps: []}])");
+			onVirtualRenderingChange();
+		}
+	}
+
+	/**
+	 * Returns <code>true</code> when data mode is enabled. See
+	 * {@link #setDataMode(boolean)}.
+	 */
+	public boolean isDataMode() {
+		return dataMode;
+	}
+
+	/**
+	 * Returns step component for the given step or sub step UID. In
+	 * {@link #setDataMode(boolean) data mode}, creates the component for the step,
+	 * or for the owner of the sub step, and its sub steps, and keeps them until
+	 * the step is removed. Otherwise same as {@link #getStepElement(String)}.
+	 *
+	 * @param uid Target step or sub step UID
+	 * @return {@link StepElement} or null if UID doesn't exist
+	 */
+	public StepElement decorateStep(String uid) {
+		GanttStep step = getAnyStep(uid);
+		if (!dataMode || step == null) {
+			return getStepElement(uid);
+		}
+		String stepUid = step.isSubstep() ? ((SubStep) step).getOwner().getUid() : uid;
+		if (decoratedUids.add(stepUid)) {
+			dirtyDataUids.add(stepUid);
+			scheduleRowSync();
+		}
+		renderStep(stepUid);
+		return getStepElement(uid);
+	}
+
+	private void checkNoDataMode() {
+		if (dataMode) {
+			throw new IllegalStateException(
+					"Virtual rows, virtual time range and data provider can't be used in data mode");
+		}
+	}
+
+	/**
+	 * Sends changed step data to the client as patches: removed steps, then
+	 * inserted and moved steps, then updated steps. Steps keeping their relative
+	 * order are found as the longest increasing subsequence of their new rows.
+	 * Components of the decorated steps are kept in the row order.
+	 */
+	private void syncStepData() {
+		FlightRecorderEvents.RowSync event = FlightRecorderEvents.beginRowSync();
+		pendingRowSync = false;
+		List<String> rowUids = stepRowIndex.toList();
+		decoratedUids.retainAll(stepIndex.keySet());
+		stepElementIndex.values().stream().filter(stepElement -> !stepElement.getModel().isSubstep())
+				.filter(stepElement -> !decoratedUids.contains(stepElement.getUid())).toList()
+				.forEach(this::releaseStepElement);
+		Element element = getElement();
+		List<Element> children = rowUids.stream().filter(decoratedUids::contains).map(this::renderStep)
+				.map(StepElement::getElement).toList();
+		// released step elements are already removed, other children are kept after the rows.
+		for (int index = 0; index < children.size(); index++) {
+			if (index >= element.getChildCount() || !element.getChild(index).equals(children.get(index))) {
+				element.insertChild(index, children.get(index));
+			}
+		}
+
+		ArrayNode ops = JacksonUtils.createArrayNode();
+		if (sentDataUids == null) {
+			ObjectNode reset = ops.addObject().put("type", "reset");
+			ArrayNode steps = reset.putArray("steps");
+			rowUids.forEach(uid -> steps.add(toStepData(getStep(uid))));
+		} else {
+			Map<String, Integer> rows = new HashMap<>(rowUids.size() * 2);
+			for (int row = 0; row < rowUids.size(); row++) {
+				rows.put(rowUids.get(row), row);
+			}
+			List<String> keptUids = new ArrayList<>(sentDataUids.size());
+			for (String uid : sentDataUids) {
+				if (rows.containsKey(uid)) {
+					keptUids.add(uid);
+				} else {
+					ops.addObject().put("type", "remove").put("uid", uid);
+				}
+			}
+			Set<String> orderedUids = getLongestIncreasingSubsequence(keptUids, rows);
+			List<ObjectNode> updates = new ArrayList<>();
+			for (int row = rowUids.size() - 1; row >= 0; row--) {
+				String uid = rowUids.get(row);
+				if (!orderedUids.contains(uid)) {
+					ops.addObject().put("type", "insert").put("before", row + 1 < rowUids.size() ? rowUids.get(row + 1) : null)
+							.set("step", toStepData(getStep(uid)));
+				} else if (dirtyDataUids.contains(uid)) {
+					updates.add(JacksonUtils.createObjectNode().put("type", "update").set("step",
+							toStepData(getStep(uid))));
+				}
+			}
+			updates.forEach(ops::add);
+		}
+		sentDataUids = rowUids;
+		dirtyDataUids.clear();
+		if (!ops.isEmpty()) {
+			executeJs("this.$connector.applyStepData($0)", ops);
+		}
+		if (event != null && event.shouldCommit()) {
+			event.dataMode = true;
+			event.stepCount = rowUids.size();
+			event.renderedCount = children.size();
+			event.commit();
+		}
+	}
+
+	/**
+	 * Returns UIDs in the longest subsequence of the given UIDs that have
+	 * increasing rows.
+	 */
+	private static Set<String> getLongestIncreasingSubsequence(List<String> uids, Map<String, Integer> rows) {
+		int[] tails = new int[uids.size()];
+		int[] previous = new int[uids.size()];
+		int length = 0;
+		for (int index = 0; index < uids.size(); index++) {
+			int row = rows.get(uids.get(index));
+			int low = 0;
+			int high = length;
+			while (low < high) {
+				int middle = (low + high) >>> 1;
+				if (rows.get(uids.get(tails[middle])) < row) {
+					low = middle + 1;
+				} else {
+					high = middle;
+				}
+			}
+			previous[index] = low > 0 ? tails[low - 1] : -1;
+			tails[low] = index;
+			length = Math.max(length, low + 1);
+		}
+		Set<String> result = new HashSet<>(length * 2);
+		for (int index = length > 0 ? tails[length - 1] : -1; index >= 0; index = previous[index]) {
+			result.add(uids.get(index));
+		}
+		return result;
+	}
+
+	private ObjectNode toStepData(Step step) {
+		ObjectNode data = toStepData((GanttStep) step);
+		if (decoratedUids.contains(step.getUid())) {
+			data.put("decorated", true);
+			return data;
+		}
+		var subSteps = subStepIndex.get(step.getUid());
+		if (subSteps != null) {
+			ArrayNode subStepData = data.putArray("subSteps");
+			subSteps.values().forEach(subStep -> subStepData.add(toStepData(subStep)));
+		}
+		return data;
+	}
+
+	/**
+	 * Returns step data with the same values that {@link StepElement#refresh()}
+	 * sets to the element.
+	 */
+	private static ObjectNode toStepData(GanttStep step) {
+		ObjectNode data = JacksonUtils.createObjectNode();
+		data.put("uid", step.getUid());
+		data.put("caption", step.getCaption());
+		data.put("backgroundColor", step.getBackgroundColor());
+		data.put("start", step.getStartDate() != null
+				? GanttUtil.formatDateTime(GanttUtil.resetTimeToMin(step.getStartDate(), Resolution.Hour))
+				: null);
+		data.put("end", step.getEndDate() != null
+				? GanttUtil.formatDateTime(GanttUtil.resetTimeToMin(step.getEndDate(), Resolution.Hour))
+				: null);
+		return data;
+	}
+
+	/**
+	 * Returns true when steps are rendered lazily before the client response
+	 * instead of right away.
+	 */
+	private boolean isVirtualRendering() {
+		return virtualRows || virtualTimeRange || dataMode;
+	}
+
+	private void onVirtualRenderingChange() {
+		if (isVirtualRendering()) {
+			scheduleRowSync();
+		} else {
+			// render all rows right away.
+			syncRows();
+			stepElementPool.clear();
+		}
+		if (isAttached()) {
+			executeJs("this.$connector && this.$connector.resetViewport()");
+		}
+	}
+
+	@Override
+	protected void onAttach(AttachEvent attachEvent) {
+		super.onAttach(attachEvent);
+		executeJs("window.Vaadin.Flow.ganttConnector.initLazy(this)");
+		if (dataMode) {
+			// client element is new, so it gets all the steps again.
+			sentDataUids = null;
+			scheduleRowSync();
+		}
+		if (metrics != null) {
+			metrics.bind(this);
+		}
+	}
+
+	@Override
+	protected void onDetach(DetachEvent detachEvent) {
+		super.onDetach(detachEvent);
+		if (metrics != null) {
+			metrics.unbind(this);
+		}
+	}
+
+	/**
+	 * Called by the client when the visible rows change.
+	 */
+	@ClientCallable
+	private void updateVisibleRows(int firstRow, int rowCount) {
+		visibleFirstRow = Math.max(0, firstRow);
+		visibleRowCount = Math.max(0, rowCount);
+		if (virtualRows) {
+			scheduleRowSync();
+		}
+	}
+
+	/**
+	 * Called by the client when the visible part of the timeline changes. Part is
+	 * given as fractions of the whole timeline width.
+	 */
+	@ClientCallable
+	private void updateVisibleTimeRange(double from, double to) {
+		visibleTimeFrom = Math.max(0, Math.min(from, 1));
+		visibleTimeTo = Math.max(visibleTimeFrom, Math.min(to, 1));
+		if (virtualTimeRange) {
+			scheduleRowSync();
+		}
+	}
+
+	private void scheduleRowSync() {
+		pendingRowSync = true;
+		scheduleClientCalls();
+	}
+
+	/**
+	 * Updates the child elements to match with the rendered rows. Step elements
+	 * of the rows that are not rendered anymore are released and reused for the
+	 * newly rendered rows. Each gap between rendered rows is filled by a single
+	 * placeholder element.
+	 */
+	private void syncRows() {
+		FlightRecorderEvents.RowSync event = FlightRecorderEvents.beginRowSync();
+		pendingRowSync = false;
+		List<String> renderedUids = getRenderedStepUids();
+		if (dataProvider != null && !renderedUids.isEmpty()) {
+			// keep the pages of the rendered rows.
+			stepPageCache.evict(stepPageCache.getPage(getRowOf(renderedUids.get(0))),
+					stepPageCache.getPage(getRowOf(renderedUids.get(renderedUids.size() - 1))))
+					.forEach(this::unindexStep);
+		}
+		Set<String> renderedUidSet = new HashSet<>(renderedUids);
+		stepElementIndex.values().stream().filter(stepElement -> !stepElement.getModel().isSubstep())
+				.filter(stepElement -> !renderedUidSet.contains(stepElement.getUid())).toList()
+				.forEach(this::releaseStepElement);
+
+		List<Element> children = new ArrayList<>(renderedUids.size() + 2);
+		int spacerCount = 0;
+		int nextRow = 0;
+		for (String uid : renderedUids) {
+			int row = getRowOf(uid);
+			if (row > nextRow) {
+				children.add(getRowSpacer(spacerCount++, row - nextRow));
+			}
+			children.add(renderStep(uid).getElement());
+			nextRow = row + 1;
+		}
+		if (nextRow < getRowCount()) {
+			children.add(getRowSpacer(spacerCount++, getRowCount() - nextRow));
+		}
+		List<Element> unusedSpacers = rowSpacers.subList(spacerCount, rowSpacers.size());
+		unusedSpacers.forEach(Element::removeFromParent);
+		unusedSpacers.clear();
+
+		// released step elements are already removed, other children are kept after the rows.
+		Element element = getElement();
+		for (int index = 0; index < children.size(); index++) {
+			Element child = children.get(index);
+			if (index >= element.getChildCount() || !element.getChild(index).equals(child)) {
+				element.insertChild(index, child);
+			}
+		}
+		if (event != null && event.shouldCommit()) {
+			event.stepCount = getRowCount();
+			event.renderedCount = renderedUids.size();
+			event.commit();
+		}
+	}
+
+	/**
+	 * Returns UIDs of the steps to render in their row order.
+	 */
+	private List<String> getRenderedStepUids() {
+		int rowCount = getRowCount();
+		int fromRow = 0;
+		int toRow = rowCount;
+		if (virtualRows) {
+			toRow = Math.min(rowCount, visibleFirstRow + visibleRowCount + virtualRowsOverscan);
+			fromRow = Math.min(toRow, Math.max(0, visibleFirstRow - virtualRowsOverscan));
+		}
+		if (!virtualTimeRange) {
+			List<String> uids = new ArrayList<>(toRow - fromRow);
+			for (int row = fromRow; row < toRow; row++) {
+				ofNullable(getRowUid(row)).ifPresent(uids::add);
+			}
+			return uids;
+		}
+		// dates of the rendered steps may have been changed in the client.
+		stepElementIndex.values().stream().filter(stepElement -> !stepElement.getModel().isSubstep())
+				.map(StepElement::getModel).map(Step.class::cast).forEach(this::indexStepDates);
+		LocalDateTime timelineStart = getStartDateTime();
+		LocalDateTime timelineEnd = getEndDateTime()
+				.plus(getResolution() == Resolution.Hour ? Duration.ofHours(1) : Duration.ofDays(1));
+		long timelineSeconds = Duration.between(timelineStart, timelineEnd).toSeconds();
+		double overscan = visibleTimeTo - visibleTimeFrom;
+		LocalDateTime from = timelineStart
+				.plusSeconds((long) (Math.max(0, visibleTimeFrom - overscan) * timelineSeconds));
+		LocalDateTime to = timelineStart
+				.plusSeconds((long) Math.ceil(Math.min(1, visibleTimeTo + overscan) * timelineSeconds));
+		if (virtualRows) {
+			List<String> uids = new ArrayList<>(toRow - fromRow);
+			for (int row = fromRow; row < toRow; row++) {
+				String uid = getRowUid(row);
+				if (uid != null && stepIntervalIndex.overlaps(uid, from, to)) {
+					uids.add(uid);
+				}
+			}
+			return uids;
+		}
+		List<String> uids = stepIntervalIndex.query(from, to);
+		uids.sort(Comparator.comparingInt(this::getRowOf));
+		return uids;
+	}
+
+	/**
+	 * Updates the given step in the indexes and state that depend on its dates
+	 * and sub-steps.
+	 */
+	private void stepChanged(Step step) {
+		indexStepDates(step);
+		if (dataMode) {
+			dirtyDataUids.add(step.getUid());
+		}
+	}
+
+	/**
+	 * Updates time interval of the given step in the interval index when virtual
+	 * time range is enabled. Interval covers also the sub-steps.
+	 */
+	private void indexStepDates(Step step) {
+		if (!virtualTimeRange) {
+			return;
+		}
+		LocalDateTime start = step.getStartDate();
+		LocalDateTime end = step.getEndDate();
+		for (SubStep subStep : subStepIndex.getOrDefault(step.getUid(), Map.of()).values()) {
+			if (start != null && subStep.getStartDate() != null && subStep.getStartDate().isBefore(start)) {
+				start = subStep.getStartDate();
+			}
+			if (end != null && subStep.getEndDate() != null && subStep.getEndDate().isAfter(end)) {
+				end = subStep.getEndDate();
+			}
+		}
+		stepIntervalIndex.put(step.getUid(), start, end);
+	}
+
+	/**
+	 * Returns rendered element for the given step UID with the sub-step elements
+	 * matching with its current sub-steps.
+	 */
+	private StepElement renderStep(String uid) {
+		StepElement stepElement = stepElementIndex.get(uid);
+		if (stepElement == null) {
+			stepElement = obtainStepElement(getStep(uid));
+		}
+		List<SubStep> subSteps = getSubSteps(uid).toList();
+		Set<String> subStepUids = subSteps.stream().map(SubStep::getUid).collect(Collectors.toSet());
+		getChildStepElements(stepElement).filter(child -> !subStepUids.contains(child.getUid())).toList()
+				.forEach(this::releaseStepElement);
+		List<StepElement> subStepElements = new ArrayList<>(subSteps.size());
+		for (SubStep subStep : subSteps) {
+			StepElement subStepElement = stepElementIndex.get(subStep.getUid());
+			subStepElements.add(subStepElement != null ? subStepElement : obtainStepElement(subStep));
+		}
+		if (!getChildStepElements(stepElement).toList().equals(subStepElements)) {
+			// appending an existing child moves it last.
+			for (StepElement subStepElement : subStepElements) {
+				stepElement.getElement().appendChild(subStepElement.getElement());
+			}
+		}
+		return stepElement;
+	}
+
+	private StepElement obtainStepElement(GanttStep step) {
+		StepElement stepElement = stepElementPool.poll();
+		if (stepElement != null) {
+			stepElement.setModel(step);
+		} else {
+			stepElement = new StepElement(step);
+		}
+		indexStepElement(stepElement);
+		return stepElement;
+	}
+
+	/**
+	 * Detaches given step element with its sub-step elements and returns them to
+	 * the pool when they have no customizations.
+	 */
+	private void releaseStepElement(StepElement stepElement) {
+		getChildStepElements(stepElement).toList().forEach(this::releaseStepElement);
+		stepElement.getElement().removeFromParent();
+		removeIndexedStepElement(stepElement);
+		if (stepElement.getModel().getElement() == stepElement) {
+			stepElement.getModel().setElement(null);
+		}
+		if (stepElementPool.size() < visibleRowCount + 2 * virtualRowsOverscan && isReusable(stepElement)) {
+			stepElementPool.push(stepElement);
+		}
+	}
+
+	private static boolean isReusable(StepElement stepElement) {
+		return stepElement.getTooltips().isEmpty() && stepElement.getContextMenuBuilders().isEmpty()
+				&& stepElement.getElement().getChildCount() == 0
+				&& REUSABLE_ATTRIBUTES.containsAll(stepElement.getElement().getAttributeNames().toList())
+				&& stepElement.getElement().getPropertyNames().allMatch("uid"::equals);
+	}
+
+	/**
+	 * Returns placeholder element for the given number of rows that are not
+	 * rendered.
+	 */
+	private Element getRowSpacer(int index, int rows) {
+		if (index == rowSpacers.size()) {
+			Element spacer = new Element("div");
+			spacer.setAttribute("aria-hidden", "true");
+			rowSpacers.add(spacer);
+		}
+		Element spacer = rowSpacers.get(index);
+		spacer.getStyle().set("height", "calc(var(--gantt-virtual-row-height, 30px) * " + rows + ")");
+		return spacer;
+	}
+
 	/**
 	 * Add new step components based on the given collection of step descriptors.
 	 * New components are appended at the end.
@@ -400,7 +1331,7 @@ public class Gantt extends Component implements HasSize {
 
 	/**
 	 * Add new step components based on the given stream of step descriptors. New
-	 * components are appended at the end.
+	 * components are appended at the end. See {@link #addSteps(int, Stream)}.
 	 *
 	 * @param steps a stream of step descriptor objects for the new components.
 	 */
@@ -408,9 +1339,99 @@ public class Gantt extends Component implements HasSize {
 		if(steps == null) {
 			return;
 		}
-		var list = steps.toList();
-		steps.forEach(this::appendStep);
-		fireDataChangeEvent(DataEvent.STEP_ADD, list.stream());
+		insertSteps(stepRowIndex.size(), steps, true);
+	}
+
+	/**
+	 * Add new step components based on the given collection of step descriptors.
+	 * See {@link #addSteps(int, Stream)}.
+	 *
+	 * @param index zero based index for the first new component
+	 * @param steps a collection of step descriptor objects for the new components.
+	 */
+	public void addSteps(int index, Collection<Step> steps) {
+		if(steps != null) {
+			addSteps(index, steps.stream());
+		}
+	}
+
+	/**
+	 * Add new step components based on the given stream of step descriptors. New
+	 * components are inserted as one block starting from the given index, moving
+	 * previous components forward. Like in {@link #addStep(int, Step)}, steps
+	 * that already exist based on their UID are moved, here into the block in
+	 * the given order, keeping their components. A single
+	 * {@link GanttDataChangeEvent} is fired for the new steps.
+	 *
+	 * @param index zero based index for the first new component
+	 * @param steps a stream of step descriptor objects for the new components.
+	 * @throws NullPointerException     if any of the steps is null. Nothing is
+	 *                                  added then.
+	 * @throws IllegalArgumentException if UID of any of the steps belongs to an
+	 *                                  existing sub step. Nothing is added then.
+	 */
+	public void addSteps(int index, Stream<Step> steps) {
+		if(steps == null) {
+			return;
+		}
+		Objects.checkIndex(index, stepRowIndex.size() + 1);
+		insertSteps(index, steps, true);
+	}
+
+	private void insertSteps(int index, Stream<Step> steps, boolean fireDataEvent) {
+		FlightRecorderEvents.BulkAdd event = FlightRecorderEvents.beginBulkAdd();
+		long start = beginOperation();
+		try {
+			checkNoDataProvider();
+			if (event != null) {
+				event.row = index;
+			}
+			// whole batch is validated before any index is touched, so they stay in sync.
+			Map<String, Step> block = new LinkedHashMap<>();
+			List<Step> newSteps = new ArrayList<>();
+			steps.forEach(step -> {
+				String uid = ensureUID(Objects.requireNonNull(step, "Step must not be null")).getUid();
+				GanttStep existing = stepIndex.get(uid);
+				if (existing != null && existing.isSubstep()) {
+					throw new IllegalArgumentException("Sub step with UID " + uid + " already exists");
+				}
+				if (block.putIfAbsent(uid, existing != null ? (Step) existing : step) == null && existing == null) {
+					newSteps.add(step);
+				}
+			});
+			if (block.isEmpty()) {
+				return;
+			}
+			// existing steps in the batch are moved, block goes before the first other row.
+			int anchorRow = index;
+			while (anchorRow < stepRowIndex.size() && block.containsKey(stepRowIndex.get(anchorRow))) {
+				anchorRow++;
+			}
+			String anchorUid = anchorRow < stepRowIndex.size() ? stepRowIndex.get(anchorRow) : null;
+			List<String> movedUids = block.keySet().stream().filter(stepRowIndex::contains).toList();
+			detachRows(movedUids);
+			newSteps.forEach(this::indexStep);
+			int row = anchorUid != null ? stepRowIndex.indexOf(anchorUid) : stepRowIndex.size();
+			stepRowIndex.insertAll(row, block.keySet());
+			if (isVirtualRendering()) {
+				scheduleRowSync();
+			} else {
+				Set<String> movedUidSet = new HashSet<>(movedUids);
+				getElement().insertChild(row, block.values().stream()
+						.map(step -> movedUidSet.contains(step.getUid()) ? getStepElement(step.getUid())
+								: createStepElement(step))
+						.map(StepElement::getElement).toList());
+			}
+			if (fireDataEvent && !newSteps.isEmpty()) {
+				fireDataChangeEvent(DataEvent.STEP_ADD, newSteps.stream());
+			}
+			if (event != null) {
+				event.stepCount = block.size();
+				event.firstUid = block.keySet().iterator().next();
+			}
+		} finally {
+			endOperation(GanttMetrics.Operation.ADD, event, start);
+		}
 	}
 
 	/**
@@ -418,11 +1439,22 @@ public class Gantt extends Component implements HasSize {
 	 * appended at the end.
 	 *
 	 * @param step a step descriptor object for the new component
+	 * @return new step component, or null with {@link #setVirtualRows(boolean)
+	 *         virtual rows} as components are created only for the rendered rows
+	 * @throws IllegalArgumentException if a step or sub step with the same UID
+	 *                                  already exists. Use
+	 *                                  {@link #addStep(int, Step)} to add or move
+	 *                                  an existing step.
 	 */
 	public StepElement addStep(Step step) {
-		StepElement stepElement = appendStep(step);
-		fireDataChangeEvent(DataEvent.STEP_ADD, Stream.of(step));
-		return stepElement;
+		long start = beginOperation();
+		try {
+			StepElement stepElement = appendStep(step);
+			fireDataChangeEvent(DataEvent.STEP_ADD, Stream.of(step));
+			return stepElement;
+		} finally {
+			endOperation(GanttMetrics.Operation.ADD, null, start);
+		}
 	}
 
 	/**
@@ -432,15 +1464,22 @@ public class Gantt extends Component implements HasSize {
 	 * @param subStep a sub step descriptor object for the new component
 	 */
 	public void addSubStep(SubStep subStep) {
-		StepElement ownerStepElement = getStepElements().collect(Collectors.toList())
-				.get(indexOf(subStep.getOwner().getUid()));
-		ownerStepElement.getElement().appendChild(new StepElement(ensureUID(subStep)).getElement());
-	}
-
-	private void addSubStepElement(StepElement subStepElement) {
-		StepElement ownerStepElement = getStepElements().collect(Collectors.toList())
-				.get(indexOf(((SubStep) subStepElement.getModel()).getOwner().getUid()));
-		ownerStepElement.getElement().appendChild(subStepElement.getElement());
+		long start = beginOperation();
+		try {
+			checkNoDataProvider();
+			if (!contains(subStep.getOwner())) {
+				throw new IllegalArgumentException("Owner step of the sub step is not in this Gantt");
+			}
+			indexStep(ensureUID(subStep));
+			if (isVirtualRendering()) {
+				scheduleRowSync();
+				return;
+			}
+			StepElement ownerStepElement = getStepElement(subStep.getOwner().getUid());
+			ownerStepElement.getElement().appendChild(createStepElement(subStep).getElement());
+		} finally {
+			endOperation(GanttMetrics.Operation.ADD, null, start);
+		}
 	}
 
 	/**
@@ -457,14 +1496,26 @@ public class Gantt extends Component implements HasSize {
 	}
 
 	private void addStep(int index, Step step, boolean fireDataEvent) {
-        if (contains(ensureUID(step))) {
-            moveStep(index, step);
-        } else {
-        	getElement().insertChild(index, new StepElement(ensureUID(step)).getElement());
-			if (fireDataEvent) {
-				fireDataChangeEvent(DataEvent.STEP_ADD, Stream.of(step));
-			}
-        }
+		long start = beginOperation();
+		try {
+			checkNoDataProvider();
+	        if (contains(ensureUID(step))) {
+	            moveStep(index, step);
+	        } else {
+	        	indexStep(step);
+	        	stepRowIndex.insert(index, step.getUid());
+	        	if (isVirtualRendering()) {
+	        		scheduleRowSync();
+	        	} else {
+	        		getElement().insertChild(index, createStepElement(step).getElement());
+	        	}
+				if (fireDataEvent) {
+					fireDataChangeEvent(DataEvent.STEP_ADD, Stream.of(step));
+				}
+	        }
+		} finally {
+			endOperation(GanttMetrics.Operation.ADD, null, start);
+		}
     }
 
 	/**
@@ -489,10 +1540,9 @@ public class Gantt extends Component implements HasSize {
 
 	/**
 	 * Move given existing step to the given index. Index is based on the state at
-	 * the moment when method is called. Moved step component is removed and
-	 * discarded and new step component takes the new position. Existing substep
-	 * components are moved to the new step component. Context menus and tooltips
-	 * are recreated for the new step component.
+	 * the moment when method is called. Moved step component is moved as is to
+	 * the new position with its substep components, other child components,
+	 * context menus and tooltips.
 	 *
 	 * @param toIndex Target zero based index where to move the step
 	 * @param step    step descriptor of the moved step
@@ -502,100 +1552,140 @@ public class Gantt extends Component implements HasSize {
 	}
 
 	private void moveStep(int toIndex, Step step, boolean fromClient) {
-        if (!contains(step)) {
-            return;
-        }
-        String targetStepUid = getStepElements().collect(Collectors.toList()).get(toIndex).getUid();
-        int fromIndex = indexOf(step);
-        Step moveStep = step;
-        if (!targetStepUid.equals(moveStep.getUid())) {
-
-			if (getCaptionTreeGrid() != null) {
-				List<Step> flatSubTree = getFlatSubTreeRecursively(getCaptionTreeGrid().getTreeData(), step);
-				if (flatSubTree.contains(getStep(targetStepUid))) {
-					// reset to old position
-					doMoveStep(indexOf(moveStep.getUid()), moveStep.getUid(), moveStep);
-					updateSubStepsByMovedOwner(moveStep.getUid());
-					return;
-				}
+		FlightRecorderEvents.StepMove event = FlightRecorderEvents.beginStepMove();
+		long start = beginOperation();
+		try {
+			checkNoDataProvider();
+			if (event != null) {
+				event.uid = step.getUid();
+				event.toRow = toIndex;
+				event.fromClient = fromClient;
 			}
-
-			doMoveStep(fromIndex, targetStepUid, moveStep);
-			if(fromClient) {
-        		fireDataChangeEvent(DataEvent.STEP_MOVE, Stream.of(step));
+	        if (!contains(step)) {
+	            return;
+	        }
+	        String targetStepUid = stepRowIndex.get(toIndex);
+	        int fromIndex = getRowOf(step.getUid());
+			if (event != null) {
+				event.fromRow = fromIndex;
 			}
-        }
-        updateSubStepsByMovedOwner(moveStep.getUid());
+	        if (!targetStepUid.equals(step.getUid())) {
+
+				if (getCaptionTreeGrid() != null) {
+					if (isDescendant(getCaptionTreeGrid().getTreeData(), step, getStep(targetStepUid))) {
+						// reset to old position
+						doMoveStep(fromIndex, fromIndex, step);
+						updateSubStepsByMovedOwner(step);
+						return;
+					}
+				}
+
+				doMoveStep(fromIndex, toIndex, step);
+				if(fromClient) {
+	        		fireDataChangeEvent(DataEvent.STEP_MOVE, Stream.of(step));
+				}
+	        }
+	        updateSubStepsByMovedOwner(step);
+		} finally {
+			endOperation(GanttMetrics.Operation.MOVE, event, start);
+		}
     }
 
-	private void doMoveStep(int fromIndex, String targetStepUid, Step moveStep) {
-		var toIndex = indexOf(targetStepUid);
-		var subStepEements = getSubStepElements(moveStep.getUid());
-		// memorize context menu builders before removing old element with builders.
-		var contextMenuBuilders = getStepElementOptional(moveStep.getUid()).map(StepElement::getContextMenuBuilders).orElse(List.of());
-		// and also tooltips.
-		var tooltips = getStepElementOptional(moveStep.getUid()).map(StepElement::getTooltips).orElse(List.of());
-		var components = getStepElementOptional(moveStep.getUid()).map(StepElement::getChildren)
-				.orElse(Stream.empty()).toList();
-		getStepElementOptional(moveStep.getUid()).ifPresent(StepElement::removeFromParent);
-		StepElement stepElement = new StepElement(moveStep);
-		subStepEements.forEach(subStepElement -> stepElement.getElement().appendChild(subStepElement.getElement()));
-		if(targetStepUid.equals(moveStep.getUid())) {
+	/**
+	 * Moves existing step from the row <code>fromIndex</code> to the row
+	 * <code>toIndex</code>. Moved step takes the place of the step at
+	 * <code>toIndex</code> in both directions, so rows are not looked up again.
+	 */
+	private void doMoveStep(int fromIndex, int toIndex, Step moveStep) {
+		stepRowIndex.remove(moveStep.getUid());
+		stepRowIndex.insert(toIndex, moveStep.getUid());
+		if (isVirtualRendering()) {
+			scheduleRowSync();
+			return;
+		}
+		StepElement stepElement = getStepElement(moveStep.getUid());
+		if (toIndex != fromIndex) {
+			// same element instance keeps its sub steps, components, listeners, context
+			// menus and tooltips. Client receives only the changed position.
+			detachStepElement(fromIndex, stepElement);
 			getElement().insertChild(toIndex, stepElement.getElement());
-		} else if(fromIndex <= toIndex) {
-			getElement().insertChild(indexOf(targetStepUid) + 1, stepElement.getElement());
-		} else {
-			getElement().insertChild(indexOf(targetStepUid), stepElement.getElement());
 		}
-		// add context menu builders back in the end.
-		contextMenuBuilders.stream().forEach(stepElement::addContextMenu);
-		// and tooltips.
-		tooltips.forEach(stepElement::addTooltip);
-		stepElement.add(components);
+		stepElement.refresh();
 	}
 
 	/**
 	 * Move given existing substep to the given index. Index is based on the state
-	 * at the moment when method is called. Moved substep component is removed and
-	 * discarded and new substep component takes the new position as a new children
-	 * inside the step component at the new index. {@link SubStep#getOwner()} is
-	 * changed to the new owner, and step dates are adjusted to include the substep
-	 * inside it. Other substep component are not touched. Context menus and tooltips
-	 * are recreated for the new substep component.
+	 * at the moment when method is called. Moved substep component is moved as is
+	 * inside the step component at the new index, keeping its child components,
+	 * context menus and tooltips. {@link SubStep#getOwner()} is changed to the new
+	 * owner, and step dates are adjusted to include the substep inside it.
+	 * Previous owner's start or end date is fitted to its remaining substeps when
+	 * the moved substep was on that boundary. Other substep component are not
+	 * touched.
 	 *
 	 * @param toIndex Target zero based index where to move the substep
 	 * @param subStep substep descriptor of the moved substep
 	 */
 	public void moveSubStep(int toIndex, SubStep subStep) {
-		if (!contains(subStep)) {
-			return;
+		FlightRecorderEvents.StepMove event = FlightRecorderEvents.beginStepMove();
+		long start = beginOperation();
+		try {
+			checkNoDataProvider();
+			if (event != null) {
+				event.uid = subStep.getUid();
+				event.subStep = true;
+				event.toRow = toIndex;
+			}
+			if (!contains(subStep)) {
+				return;
+			}
+			String targetStepUid = stepRowIndex.get(toIndex);
+			Step targetStep = getStep(targetStepUid);
+			Step previousOwner = subStep.getOwner();
+			if (event != null) {
+				event.fromRow = indexOf(previousOwner);
+			}
+			if (!targetStepUid.equals(previousOwner.getUid())) {
+				subStep.setOwner(targetStep);
+				indexStep(subStep);
+				if (isVirtualRendering()) {
+					scheduleRowSync();
+				} else {
+					// re-parent the same element, appending removes it from the previous owner.
+					getStepElement(targetStepUid).getElement()
+							.appendChild(getStepElement(subStep.getUid()).getElement());
+				}
+				updateOwnerDatesByRemovedSubStep(previousOwner, subStep);
+				ofNullable(getStep(previousOwner.getUid())).ifPresent(this::stepChanged);
+			}
+			subStep.updateOwnerDatesBySubStep();
+			stepChanged(targetStep);
+			refresh(targetStepUid);
+		} finally {
+			endOperation(GanttMetrics.Operation.MOVE, event, start);
 		}
-		String targetStepUid = getStepElements().collect(Collectors.toList()).get(toIndex).getUid();
-		StepElement stepElement = getStepElement(targetStepUid);
-		Step moveStep = subStep.getOwner();
-		if (!targetStepUid.equals(moveStep.getUid())) {
-			var substepElement = getSubStepElements().filter(item -> item.getUid().equals(subStep.getUid())).findFirst().orElse(null);
-			// memorize context menu builders before removing old element with builders.
-			var contextMenuBuilders = ofNullable(substepElement).map(StepElement::getContextMenuBuilders).orElse(List.of());
-			// and also tooltips.
-			var tooltips = ofNullable(substepElement).map(StepElement::getTooltips).orElse(List.of());
-			var components = ofNullable(substepElement).map(StepElement::getChildren)
-					.orElse(Stream.empty()).toList();
-			getSubStepElements().filter(item -> item.getUid().equals(subStep.getUid())).findFirst()
-					.ifPresent(StepElement::removeFromParent);
-			subStep.setOwner(getStep(targetStepUid));
-			substepElement = new StepElement(subStep);
-			stepElement.getElement().appendChild(substepElement.getElement());
-			// add context menu builders back in the end.
-			contextMenuBuilders.stream().forEach(substepElement::addContextMenu);
-			// and tooltips.
-			tooltips.forEach(substepElement::addTooltip);
-			substepElement.add(components);
-		}
-		subStep.updateOwnerDatesBySubStep();
-		stepElement.refresh();
     }
 
+	/**
+	 * Fits owner's start or end date to its remaining sub steps when the given
+	 * sub step, that is not anymore part of the owner, was on that boundary.
+	 * Owner without sub steps is not touched.
+	 */
+	private void updateOwnerDatesByRemovedSubStep(Step owner, SubStep subStep) {
+		var subSteps = subStepIndex.get(owner.getUid());
+		if (subSteps == null) {
+			return;
+		}
+		if (Objects.equals(owner.getStartDate(), subStep.getStartDate())) {
+			subSteps.values().stream().map(GanttStep::getStartDate).filter(Objects::nonNull)
+					.min(Comparator.naturalOrder()).ifPresent(owner::setStartDate);
+		}
+		if (Objects.equals(owner.getEndDate(), subStep.getEndDate())) {
+			subSteps.values().stream().map(GanttStep::getEndDate).filter(Objects::nonNull)
+					.max(Comparator.naturalOrder()).ifPresent(owner::setEndDate);
+		}
+	}
+
 	/**
 	 * Removes all given steps if they exists, based on their UIDs.
 	 * @param steps collection of steps, null does nothing
@@ -619,7 +1709,8 @@ public class Gantt extends Component implements HasSize {
 
 	/**
 	 * Removes all given steps looped through the given Stream if they exists, based
-	 * on their UIDs.
+	 * on their UIDs. A single {@link GanttDataChangeEvent} is fired for all removed
+	 * steps.
 	 *
 	 * @param steps Stream of steps, null does nothing
 	 */
@@ -627,8 +1718,20 @@ public class Gantt extends Component implements HasSize {
 		if(steps == null) {
 			return;
 		}
-		var list = steps.toList();
-		list.forEach(step -> doRemoveStep(step, true));
+		doRemoveAnySteps(steps.map(Step::getUid).toList(), true);
+	}
+
+	/**
+	 * Removes all given steps and sub steps if they exists, based on their UIDs.
+	 * Owner steps of the removed sub steps are refreshed once. A single
+	 * {@link GanttDataChangeEvent} is fired for all removed steps.
+	 *
+	 * @param steps collection of steps and sub steps, null does nothing
+	 */
+	public void removeAnySteps(Collection<? extends GanttStep> steps) {
+		if(steps != null) {
+			doRemoveAnySteps(steps.stream().map(GanttStep::getUid).toList(), true);
+		}
 	}
 
 	/**
@@ -647,42 +1750,348 @@ public class Gantt extends Component implements HasSize {
 	 * @param step Target step or sub step to remove
 	 * @return boolean true if step or sub step was removed, false otherwise
 	 */
-	public boolean removeAnyStep(GanttStep step) {
-		return doRemoveAnyStep(step.getUid(), true);
+	public boolean removeAnyStep(GanttStep step) {
+		return doRemoveAnyStep(step.getUid(), true);
+	}
+
+	/**
+	 * Removes given Step if it exists, based on its UID.
+	 *
+	 * @param step Target step to remove
+	 * @return boolean true if step was removed, false otherwise
+	 */
+	public boolean removeStep(Step step) {
+		return doRemoveStep(step, true);
+	}
+
+	private boolean doRemoveStep(Step step, boolean fireDataEvent) {
+		return doRemoveAnyStep(step.getUid(), fireDataEvent);
+	}
+
+	private boolean doRemoveAnyStep(String uid, boolean fireDataEvent) {
+		long start = beginOperation();
+		try {
+			checkNoDataProvider();
+			var removedStep = getAnyStep(uid);
+			if (removedStep == null) {
+				return false;
+			}
+			var removedStepElement = getStepElement(uid);
+			if (removedStepElement != null) {
+				removedStepElement.removeFromParent();
+				unindexStepElement(removedStepElement);
+			}
+			unindexStep(removedStep);
+			stepRowIndex.remove(uid);
+			if (isVirtualRendering()) {
+				scheduleRowSync();
+			}
+			if (removedStep.isSubstep()) {
+				refresh(((SubStep) removedStep).getOwner().getUid());
+			} else if(fireDataEvent) {
+				fireDataChangeEvent(DataEvent.STEP_REMOVE, Stream.of((Step) removedStep));
+			}
+			return true;
+		} finally {
+			endOperation(GanttMetrics.Operation.REMOVE, null, start);
+		}
+	}
+
+	private void doRemoveAnySteps(Collection<String> uids, boolean fireDataEvent) {
+		FlightRecorderEvents.BulkRemove event = FlightRecorderEvents.beginBulkRemove();
+		long start = beginOperation();
+		try {
+			checkNoDataProvider();
+			Map<String, GanttStep> removedSteps = new LinkedHashMap<>();
+			Set<String> ownerUids = new LinkedHashSet<>();
+			List<String> removedStepUids = new ArrayList<>();
+			for (String uid : uids) {
+				GanttStep step = getAnyStep(uid);
+				if (step != null && removedSteps.putIfAbsent(uid, step) == null && !step.isSubstep()) {
+					removedStepUids.add(uid);
+				}
+			}
+			if (removedSteps.isEmpty()) {
+				return;
+			}
+			// sub steps first, unless their owner is removed too.
+			removedSteps.values().stream().filter(GanttStep::isSubstep).forEach(subStep -> {
+				String ownerUid = ((SubStep) subStep).getOwner().getUid();
+				if (!removedSteps.containsKey(ownerUid)) {
+					getStepElementOptional(subStep.getUid()).ifPresent(subStepElement -> {
+						subStepElement.removeFromParent();
+						unindexStepElement(subStepElement);
+					});
+					unindexStep(subStep);
+					ownerUids.add(ownerUid);
+				}
+			});
+			if (!removedStepUids.isEmpty()) {
+				removeStepRows(removedStepUids);
+				removedStepUids.forEach(uid -> unindexStep(removedSteps.get(uid)));
+			}
+			if (isVirtualRendering()) {
+				scheduleRowSync();
+			}
+			ownerUids.forEach(this::refresh);
+			if (fireDataEvent && !removedStepUids.isEmpty()) {
+				fireDataChangeEvent(DataEvent.STEP_REMOVE,
+						removedStepUids.stream().map(removedSteps::get).map(Step.class::cast));
+			}
+			if (event != null) {
+				event.stepCount = removedSteps.size();
+				event.firstUid = removedSteps.keySet().iterator().next();
+			}
+		} finally {
+			endOperation(GanttMetrics.Operation.REMOVE, event, start);
+		}
+	}
+
+	/**
+	 * Removes rows and elements of the given steps. Contiguous rows are removed
+	 * from the row index as one range.
+	 */
+	private void removeStepRows(Collection<String> uids) {
+		Map<String, Integer> rowOf = new HashMap<>(uids.size() * 2);
+		uids.forEach(uid -> rowOf.put(uid, stepRowIndex.indexOf(uid)));
+		String[] rowUids = uids.stream().sorted(Comparator.comparing(rowOf::get)).toArray(String[]::new);
+		int[] rows = Stream.of(rowUids).mapToInt(rowOf::get).toArray();
+		List<StepElement> stepElements = Stream.of(rowUids).map(this::getStepElement).filter(Objects::nonNull).toList();
+		stepElements.forEach(StepElement::clearContextMenus);
+		int remainingCount = getElement().getChildCount() - stepElements.size();
+		if (isVirtualRendering()) {
+			stepElements.forEach(stepElement -> stepElement.getElement().removeFromParent());
+		} else if ((long) stepElements.size() * stepElements.size() / 2 > (long) remainingCount * CHILD_REATTACH_COST) {
+			// Flow scans the list changes of the round trip for each removed child,
+			// so removing most of the children is faster by removing all at once.
+			Set<Element> removedElements = stepElements.stream().map(StepElement::getElement)
+					.collect(Collectors.toSet());
+			List<Element> remaining = getElement().getChildren().filter(child -> !removedElements.contains(child))
+					.toList();
+			getElement().removeAllChildren();
+			getElement().appendChild(remaining);
+		} else {
+			// from the last row, so that the rows of the remaining removed steps stay valid.
+			for (int index = rowUids.length - 1; index >= 0; index--) {
+				StepElement stepElement = getStepElement(rowUids[index]);
+				if (stepElement != null) {
+					detachStepElement(rows[index], stepElement);
+				}
+			}
+		}
+		stepElements.forEach(this::unindexStepElement);
+		for (int end = rows.length; end > 0;) {
+			int start = end - 1;
+			while (start > 0 && rows[start - 1] == rows[start] - 1) {
+				start--;
+			}
+			stepRowIndex.removeRange(rows[start], rows[end - 1] + 1);
+			end = start;
+		}
+	}
+
+	/**
+	 * Removes step element from this component by its row without looking it up
+	 * from the children. Context menus are not touched. With virtual rendering child
+	 * index doesn't match the row and element is looked up from the children.
+	 */
+	private void detachStepElement(int row, StepElement stepElement) {
+		if (!isVirtualRendering() && row >= 0 && row < getElement().getChildCount()
+				&& getElement().getChild(row).equals(stepElement.getElement())) {
+			getElement().removeChild(row);
+		} else {
+			stepElement.getElement().removeFromParent();
+		}
+	}
+
+	private StepElement appendStep(Step step) {
+		checkNoDataProvider();
+		if (contains(ensureUID(step).getUid())) {
+			// checked before any index is touched, so they stay in sync.
+			throw new IllegalArgumentException("Step with UID " + step.getUid() + " already exists");
+		}
+		indexStep(step);
+		stepRowIndex.add(step.getUid());
+		if (isVirtualRendering()) {
+			scheduleRowSync();
+			return null;
+		}
+		StepElement stepElement = createStepElement(step);
+		getElement().appendChild(stepElement.getElement());
+		return stepElement;
+	}
+
+	/**
+	 * Adds given step or sub-step to the UID index. Sub-step is indexed as the last
+	 * sub-step of its current owner.
+	 */
+	private void indexStep(GanttStep step) {
+		stepIndex.put(step.getUid(), step);
+		step.setChangeListener(this::onStepChange);
+		if (step.isSubstep()) {
+			unindexSubStepOwner(step.getUid());
+			String ownerUid = ((SubStep) step).getOwner().getUid();
+			subStepIndex.computeIfAbsent(ownerUid, key -> new LinkedHashMap<>()).put(step.getUid(),
+					(SubStep) step);
+			subStepOwnerIndex.put(step.getUid(), ownerUid);
+			ofNullable(getStep(ownerUid)).ifPresent(this::stepChanged);
+		} else {
+			stepChanged((Step) step);
+		}
+	}
+
+	/**
+	 * Removes given step and its sub-steps, or given sub-step, from the UID index.
+	 * Row index is not touched.
+	 */
+	private void unindexStep(GanttStep step) {
+		if (!stepIndex.remove(step.getUid(), step)) {
+			return;
+		}
+		step.setChangeListener(null);
+		if (step.isSubstep()) {
+			unindexSubStepOwner(step.getUid());
+			ofNullable(getStep(((SubStep) step).getOwner().getUid())).ifPresent(this::stepChanged);
+		} else {
+			stepIntervalIndex.remove(step.getUid());
+			var subSteps = subStepIndex.remove(step.getUid());
+			if (subSteps != null) {
+				subSteps.values().forEach(subStep -> {
+					stepIndex.remove(subStep.getUid());
+					subStepOwnerIndex.remove(subStep.getUid());
+					subStep.setChangeListener(null);
+				});
+			}
+		}
+	}
+
+	private void unindexSubStepOwner(String subStepUid) {
+		String ownerUid = subStepOwnerIndex.remove(subStepUid);
+		if (ownerUid == null) {
+			return;
+		}
+		var subSteps = subStepIndex.get(ownerUid);
+		if (subSteps != null) {
+			subSteps.remove(subStepUid);
+			if (subSteps.isEmpty()) {
+				subStepIndex.remove(ownerUid);
+			}
+		}
+	}
+
+	/**
+	 * Creates a new element for the given step or sub-step and adds it to the
+	 * element index. Element is not attached.
+	 */
+	private StepElement createStepElement(GanttStep step) {
+		StepElement stepElement = new StepElement(step);
+		indexStepElement(stepElement);
+		return stepElement;
+	}
+
+	private void indexStepElement(StepElement stepElement) {
+		if (stepElementIndex.put(stepElement.getUid(), stepElement) == null) {
+			if (stepElement.getModel().isSubstep()) {
+				subStepElementCount++;
+			} else {
+				stepElementCount++;
+			}
+		}
+	}
+
+	/**
+	 * Removes given step element from the element index, when the entry still
+	 * points to it. Returns true if it was removed.
+	 */
+	private boolean removeIndexedStepElement(StepElement stepElement) {
+		if (!stepElementIndex.remove(stepElement.getUid(), stepElement)) {
+			return false;
+		}
+		if (stepElement.getModel().isSubstep()) {
+			subStepElementCount--;
+		} else {
+			stepElementCount--;
+		}
+		return true;
 	}
 
 	/**
-	 * Removes given Step if it exists, based on its UID.
-	 *
-	 * @param step Target step to remove
-	 * @return boolean true if step was removed, false otherwise
+	 * Removes given step element and its sub-step elements from the element
+	 * index. Entry is removed only when it still points to the given element
+	 * instance.
 	 */
-	public boolean removeStep(Step step) {
-		return doRemoveStep(step, true);
+	private void unindexStepElement(StepElement stepElement) {
+		if (removeIndexedStepElement(stepElement) && !stepElement.getModel().isSubstep()) {
+			getChildStepElements(stepElement).forEach(this::unindexStepElement);
+		}
 	}
 
-	private boolean doRemoveStep(Step step, boolean fireDataEvent) {
-		return doRemoveAnyStep(step.getUid(), fireDataEvent);
+	private static Stream<StepElement> getChildStepElements(StepElement stepElement) {
+		return stepElement.getChildren().filter(child -> child instanceof StepElement).map(StepElement.class::cast);
 	}
 
-	private boolean doRemoveAnyStep(String uid, boolean fireDataEvent) {
-		var removedStepElement = getStepElement(uid);
-		if (removedStepElement != null) {
-			removedStepElement.removeFromParent();
-			if (removedStepElement.getModel().isSubstep()) {
-				refresh(((SubStep) removedStepElement.getModel()).getOwner().getUid());
-			} else if(fireDataEvent) {
-				fireDataChangeEvent(DataEvent.STEP_REMOVE, Stream.of((Step) removedStepElement.getModel()));
+	/**
+	 * Verifies that the UID index and the row index match with the steps, and
+	 * that the step elements in the component tree match with them. Meant for
+	 * tests. With virtual rendering, step elements are synced before the client
+	 * response, so they are checked only when no sync is pending.
+	 *
+	 * @throws IllegalStateException if an index is out of sync
+	 */
+	void checkIndexConsistency() {
+		List<String> rowUids = dataProvider == null ? stepRowIndex.toList() : stepPageCache.getUids();
+		int subStepCount = 0;
+		for (String uid : rowUids) {
+			GanttStep step = stepIndex.get(uid);
+			if (step == null || step.isSubstep() || !uid.equals(step.getUid())) {
+				throw new IllegalStateException("UID index is out of sync for step " + uid);
+			}
+			for (SubStep subStep : subStepIndex.getOrDefault(uid, Map.of()).values()) {
+				if (stepIndex.get(subStep.getUid()) != subStep || !uid.equals(subStep.getOwner().getUid())
+						|| !uid.equals(subStepOwnerIndex.get(subStep.getUid()))) {
+					throw new IllegalStateException("Owner index is out of sync for sub-step " + subStep.getUid());
+				}
+				subStepCount++;
 			}
-			return true;
 		}
-		return false;
-	}
-
-	private StepElement appendStep(Step step) {
-		StepElement stepElement = new StepElement(ensureUID(step));
-		getElement().appendChild(stepElement.getElement());
-		return stepElement;
+		if (rowUids.size() + subStepCount != stepIndex.size() || subStepCount != subStepOwnerIndex.size()) {
+			throw new IllegalStateException("UID index has " + stepIndex.size() + " entries but there are "
+					+ rowUids.size() + " steps and " + subStepCount + " sub-steps");
+		}
+		if (pendingRowSync) {
+			return;
+		}
+		List<StepElement> stepElements = getStepElements().toList();
+		List<String> renderedUids = stepElements.stream().map(StepElement::getUid).toList();
+		Set<String> renderedUidSet = new HashSet<>(renderedUids);
+		if (!rowUids.stream().filter(renderedUidSet::contains).toList().equals(renderedUids)
+				|| !isVirtualRendering() && rowUids.size() != renderedUids.size()) {
+			throw new IllegalStateException("Row index is out of sync with the step elements");
+		}
+		int renderedCount = 0;
+		for (StepElement stepElement : stepElements) {
+			List<String> children = getChildStepElements(stepElement).map(StepElement::getUid).toList();
+			List<String> subStepUids = List.copyOf(
+					subStepIndex.getOrDefault(stepElement.getUid(), Map.of()).keySet());
+			if (!children.equals(subStepUids)) {
+				throw new IllegalStateException("Sub-step elements are out of sync for step " + stepElement.getUid());
+			}
+			renderedCount += 1 + children.size();
+		}
+		if (renderedCount != stepElementIndex.size()) {
+			throw new IllegalStateException("Element index has " + stepElementIndex.size()
+					+ " entries but there are " + renderedCount + " step elements");
+		}
+		if (renderedCount - stepElements.size() != subStepElementCount) {
+			throw new IllegalStateException("Sub-step element count is " + subStepElementCount + " but there are "
+					+ (renderedCount - stepElements.size()) + " sub-step elements");
+		}
+		getFlatStepElements().forEach(stepElement -> {
+			if (stepElementIndex.get(stepElement.getUid()) != stepElement
+					|| stepIndex.get(stepElement.getUid()) != stepElement.getModel()) {
+				throw new IllegalStateException("Element index is out of sync for step " + stepElement.getUid());
+			}
+		});
 	}
 
 	private void setupByLocale() {
@@ -699,7 +2108,7 @@ public class Gantt extends Component implements HasSize {
 		for (int index = 0; index < array.length; index++) {
 			jsonArray.add(array[index]);
 		}
-		getElement().executeJs("this." + name + " = $0;", jsonArray);
+		executeJs("this." + name + " = $0;", jsonArray);
 	}
 
 	/**
@@ -725,7 +2134,9 @@ public class Gantt extends Component implements HasSize {
 	}
 
 	/**
-	 * Returns {@link StepElement} by <code>uid</code>. Includes sub-steps.
+	 * Returns {@link StepElement} by <code>uid</code>. Includes sub-steps. With
+	 * {@link #setVirtualRows(boolean) virtual rows} returns null for the steps
+	 * that are not rendered.
 	 */
 	public StepElement getStepElement(String uid) {
 		return getStepElementOptional(uid).orElse(null);
@@ -735,26 +2146,40 @@ public class Gantt extends Component implements HasSize {
 	 * Returns {@link StepElement} wrapped in {@link Optional} by <code>uid</code>. Includes sub-steps.
 	 */
 	public Optional<StepElement> getStepElementOptional(String uid) {
-		return getFlatStepElements().filter(step -> Objects.equals(uid, step.getUid())).findFirst();
+		return ofNullable(uid).map(stepElementIndex::get);
 	}
 
 	/**
-	 * Returns {@link StepElement} stream excluding sub-steps.
+	 * Returns {@link StepElement} stream excluding sub-steps. With
+	 * {@link #setVirtualRows(boolean) virtual rows} only rendered steps are
+	 * included.
 	 */
     public Stream<StepElement> getStepElements() {
 		return getChildren().filter(child -> child instanceof StepElement).map(StepElement.class::cast);
 	}
 
 	/**
-	 * Returns {@link Step} stream excluding sub-steps.
+	 * Returns {@link Step} stream excluding sub-steps. With a data provider, steps
+	 * are fetched from it in pages of {@link #getPageSize()} steps while the stream
+	 * is consumed, without caching them, and cached steps are returned in place of
+	 * the fetched ones. Limit the stream, like with {@link Stream#limit(long)}, to
+	 * avoid fetching all the steps.
 	 */
     public Stream<Step> getSteps() {
-		return getChildren().filter(child -> child instanceof StepElement).map(StepElement.class::cast)
-				.map(StepElement::getModel).map(Step.class::cast);
+		if (dataProvider != null) {
+			int pageSize = getPageSize();
+			int rowCount = getRowCount();
+			return IntStream.iterate(0, offset -> offset < rowCount, offset -> offset + pageSize)
+					.mapToObj(offset -> fetchSteps(dataProvider, offset, Math.min(pageSize, rowCount - offset)))
+					.flatMap(steps -> steps).map(this::ensureUID)
+					.map(step -> stepIndex.get(step.getUid()) instanceof Step cached ? cached : step);
+		}
+		return stepRowIndex.toList().stream().map(stepIndex::get).map(Step.class::cast);
 	}
 
 	/**
-	 * Returns a list of {@link Step} objects excluding sub-steps.
+	 * Returns a list of {@link Step} objects excluding sub-steps. With a data
+	 * provider, all the steps are fetched from it, see {@link #getSteps()}.
 	 */
     public List<Step> getStepsList() {
     	return getSteps().collect(Collectors.toList());
@@ -767,8 +2192,7 @@ public class Gantt extends Component implements HasSize {
 		Stream.Builder<StepElement> streamBuilder = Stream.builder();
 		getStepElements().forEach(step -> {
 			streamBuilder.add(step);
-			step.getChildren().filter(child -> child instanceof StepElement).map(StepElement.class::cast)
-					.forEach(streamBuilder::add);
+			getChildStepElements(step).forEach(streamBuilder::add);
 		});
 		return streamBuilder.build();
 	}
@@ -779,26 +2203,42 @@ public class Gantt extends Component implements HasSize {
 	 * @return {@link StepElement} {@link Stream}
 	 */
 	public Stream<StepElement> getSubStepElements(String forStepUid) {
-		StepElement stepEl = getStepElement(forStepUid);
-		if (stepEl != null) {
-			return stepEl.getChildren().filter(child -> child instanceof StepElement).map(StepElement.class::cast);
-		}
-		return Stream.empty();
+		return getSubSteps(forStepUid).map(subStep -> stepElementIndex.get(subStep.getUid()))
+				.filter(Objects::nonNull);
 	}
 
 	/**
 	 * Returns {@link StepElement} stream of all sub-steps.
 	 */
     public Stream<StepElement> getSubStepElements() {
-		return getStepElements().flatMap(step -> step.getChildren().filter(child -> child instanceof StepElement))
-				.map(StepElement.class::cast);
+		if (subStepIndex.isEmpty()) {
+			return Stream.empty();
+		}
+		return getStepElements().flatMap(step -> getSubStepElements(step.getUid()));
+	}
+
+	/**
+	 * Returns {@link SubStep} stream for the given step UID.
+	 *
+	 * @param forStepUid Target step UID
+	 * @return {@link SubStep} {@link Stream}
+	 */
+	public Stream<SubStep> getSubSteps(String forStepUid) {
+		var subSteps = subStepIndex.get(forStepUid);
+		if (subSteps != null) {
+			return List.copyOf(subSteps.values()).stream();
+		}
+		return Stream.empty();
 	}
 
 	/**
 	 * Returns {@link SubStep} stream of all sub-steps.
 	 */
 	public Stream<SubStep> getSubSteps() {
-		return getSubStepElements().map(StepElement::getModel).map(SubStep.class::cast);
+		if (subStepIndex.isEmpty()) {
+			return Stream.empty();
+		}
+		return getSteps().flatMap(step -> getSubSteps(step.getUid()));
 	}
 
 	/**
@@ -808,8 +2248,7 @@ public class Gantt extends Component implements HasSize {
 	 * @return boolean true if UID exists
 	 */
     public boolean contains(String targetUid) {
-        return getFlatStepElements()
-        		.anyMatch(step -> step.getUid().equals(targetUid));
+        return targetUid != null && stepIndex.containsKey(targetUid);
     }
 
 	/**
@@ -820,8 +2259,7 @@ public class Gantt extends Component implements HasSize {
 	 * @return boolean true if UID exists
 	 */
     public boolean contains(GanttStep targetStep) {
-        return getFlatStepElements()
-        		.anyMatch(step -> step.getUid().equals(targetStep.getUid()));
+        return contains(targetStep.getUid());
     }
 
 	/**
@@ -832,7 +2270,8 @@ public class Gantt extends Component implements HasSize {
 	 * @return boolean true if step with the UID exists
 	 */
 	public boolean contains(Step targetStep) {
-		return contains(getStepElements(), targetStep.getUid());
+		GanttStep step = getAnyStep(targetStep.getUid());
+		return step != null && !step.isSubstep();
     }
 
 	/**
@@ -842,13 +2281,8 @@ public class Gantt extends Component implements HasSize {
 	 * @return boolean true if sub step with the UID exists
 	 */
 	public boolean contains(SubStep targetSubStep) {
-        return contains(getSubStepElements(), targetSubStep.getUid());
-    }
-
-	private boolean contains(Stream<StepElement> stream, String targetUid) {
-        return stream
-        		.filter(child -> child instanceof StepElement).map(StepElement.class::cast)
-        		.anyMatch(step -> step.getUid().equals(targetUid));
+		GanttStep step = getAnyStep(targetSubStep.getUid());
+		return step != null && step.isSubstep();
     }
 
 	/**
@@ -870,13 +2304,30 @@ public class Gantt extends Component implements HasSize {
 	 */
     public int indexOf(String stepUid) {
     	GanttStep step = getAnyStep(stepUid);
+    	if (step == null) {
+    		return -1;
+    	}
     	if(step.isSubstep()) {
     		step = ((SubStep) step).getOwner();
     	}
-    	List<String> uidList = getStepElements().map(StepElement::getUid).collect(Collectors.toList());
-        return uidList.indexOf(step.getUid());
+        return getRowOf(step.getUid());
     }
 
+	/**
+	 * Returns {@link Step} at the given zero based index.
+	 *
+	 * @param index Target zero based index
+	 * @return {@link Step} at the index
+	 * @throws IndexOutOfBoundsException if index is out of range
+	 */
+	public Step getStep(int index) {
+		if (dataProvider != null) {
+			Objects.checkIndex(index, getRowCount());
+			return getProvidedStep(index);
+		}
+		return getStep(stepRowIndex.get(index));
+	}
+
 	/**
 	 * Returns {@link SubStep} by the UID or null if it doesn't exist.
 	 *
@@ -884,8 +2335,8 @@ public class Gantt extends Component implements HasSize {
 	 * @return {@link SubStep} or null
 	 */
     public SubStep getSubStep(String uid) {
-		return getSubStepElements().filter(step -> Objects.equals(uid, step.getUid())).findFirst()
-				.map(StepElement::getModel).map(SubStep.class::cast).orElse(null);
+		GanttStep step = getAnyStep(uid);
+		return step != null && step.isSubstep() ? (SubStep) step : null;
 	}
 
 	/**
@@ -895,16 +2346,15 @@ public class Gantt extends Component implements HasSize {
 	 * @return {@link Step} or null
 	 */
 	public Step getStep(String uid) {
-		return getStepElements().filter(step -> Objects.equals(uid, step.getUid())).findFirst()
-				.map(StepElement::getModel).map(Step.class::cast).orElse(null);
+		GanttStep step = getAnyStep(uid);
+		return step != null && !step.isSubstep() ? (Step) step : null;
 	}
 
 	/**
 	 * Returns {@link GanttStep} by <code>uid</code>. Including sub-steps.
 	 */
     public GanttStep getAnyStep(String uid) {
-    	return getFlatStepElements().filter(step -> Objects.equals(uid, step.getUid())).findFirst()
-				.map(StepElement::getModel).orElse(null);
+    	return uid != null ? stepIndex.get(uid) : null;
     }
 
 	/**
@@ -913,28 +2363,47 @@ public class Gantt extends Component implements HasSize {
 	 * @param stepUid Target owner step UID
 	 */
     public void updateSubStepsByMovedOwner(String stepUid) {
-    	Step step = getStep(stepUid);
+    	updateSubStepsByMovedOwner(getStep(stepUid));
+    }
+
+	private void updateSubStepsByMovedOwner(Step step) {
 		// update sub-steps by moved owner
-		LocalDateTime previousStart = getSubStepElements(stepUid).map(StepElement::getModel)
-				.map(GanttStep::getStartDate).min(Comparator.naturalOrder()).orElse(step.getStartDate());
+		var ownedSubSteps = subStepIndex.get(step.getUid());
+		List<SubStep> subSteps = ownedSubSteps != null ? List.copyOf(ownedSubSteps.values()) : List.of();
+		LocalDateTime previousStart = subSteps.stream().map(GanttStep::getStartDate)
+				.min(Comparator.naturalOrder()).orElse(step.getStartDate());
 		Duration delta = Duration.between(previousStart, step.getStartDate());
-		getSubStepElements(stepUid).forEach(substep -> {
-			substep.getModel().setStartDate(substep.getModel().getStartDate().plus(delta));
-			substep.getModel().setEndDate(substep.getModel().getEndDate().plus(delta));
-			substep.refresh();
+		subSteps.forEach(substep -> {
+			substep.setStartDate(substep.getStartDate().plus(delta));
+			substep.setEndDate(substep.getEndDate().plus(delta));
+			refresh(substep.getUid());
 		});
+		stepChanged(step);
     }
 
 	/**
-	 * Refresh target step element if it exists.
+	 * Refresh target step element if it exists. Changes made with the setters of
+	 * the steps are flushed automatically once per round trip, so this is needed
+	 * only when the element has been changed directly. With
+	 * {@link #setVirtualTimeRange(boolean) virtual time range}, also updates the
+	 * step, or the owner of the sub step, by its current dates in the rendered
+	 * steps.
 	 *
 	 * @param uid Target step UID
 	 */
 	public void refresh(String uid) {
+		if (virtualTimeRange || dataMode) {
+			GanttStep step = getAnyStep(uid);
+			if (step != null) {
+				stepChanged(step.isSubstep() ? getStep(((SubStep) step).getOwner().getUid()) : (Step) step);
+				scheduleRowSync();
+			}
+		}
 		var stepElement = getStepElement(uid);
 		if (stepElement != null) {
 			stepElement.refresh();
 		}
+		ofNullable(getStep(uid)).ifPresent(this::refreshCaptionGridItem);
 	}
 
 	/**
@@ -953,13 +2422,18 @@ public class Gantt extends Component implements HasSize {
     @Override
     public void setWidth(String width) {
     	getElement().getStyle().set("--gantt-element-width", Objects.requireNonNullElse(width, "auto"));
-    	getElement().callJsFunction("updateSize");
+    	updateSize();
     }
 
     @Override
     public void setHeight(String height) {
     	getElement().getStyle().set("--gantt-element-height", Objects.requireNonNullElse(height, "auto"));
-    	getElement().callJsFunction("updateSize");
+    	updateSize();
+    }
+
+    private void updateSize() {
+    	pendingUpdateSize = true;
+    	scheduleClientCalls();
     }
 
 	public Registration addGanttClickListener(ComponentEventListener<GanttClickEvent> listener) {
@@ -992,6 +2466,49 @@ public class Gantt extends Component implements HasSize {
 		return addListener(GanttDataChangeEvent.class, listener);
 	}
 
+	/**
+	 * Sets instrumentation that records timings of adding, moving, removing,
+	 * expanding and collapsing steps, JavaScript invocations and handled client
+	 * events of this Gantt. Given metrics are bound with
+	 * {@link GanttMetrics#bind(Gantt)} while this Gantt is attached, and
+	 * previous metrics are unbound.
+	 *
+	 * @param metrics metrics to record to, or null to not record anything
+	 */
+	public void setMetrics(@Nullable GanttMetrics metrics) {
+		if (this.metrics != null && isAttached()) {
+			this.metrics.unbind(this);
+		}
+		this.metrics = metrics;
+		if (metrics != null && isAttached()) {
+			metrics.bind(this);
+		}
+	}
+
+	/**
+	 * Returns instrumentation set with {@link #setMetrics(GanttMetrics)}.
+	 */
+	public @Nullable GanttMetrics getMetrics() {
+		return metrics;
+	}
+
+	/**
+	 * Returns number of rendered step components, not including sub steps. With
+	 * virtual rendering or in data mode, this is less than number of steps. Safe
+	 * to call without the session lock, for example from a metrics gauge.
+	 */
+	public int getStepElementCount() {
+		return stepElementCount;
+	}
+
+	/**
+	 * Returns number of rendered sub step components. Safe to call without the
+	 * session lock, for example from a metrics gauge.
+	 */
+	public int getSubStepElementCount() {
+		return subStepElementCount;
+	}
+
 	/**
 	 * Builds a new {@link Grid} instance with a single column that renders text
 	 * based on the step caption. {@link Grid} will be kept in sync with the Gantt
@@ -1014,12 +2531,16 @@ public class Gantt extends Component implements HasSize {
 				refreshForHorizontalScrollbar();
 			}
 		});
-		grid.setItems(query -> getSteps().skip(query.getOffset()).limit(query.getLimit()));
-		captionGridDataChangeListener = addDataChangeListener(event -> {
-			grid.getLazyDataView().refreshAll();
-			refreshForHorizontalScrollbar();
-		});
-		getElement().executeJs("this.registerScrollElement($0.$.table)", grid);
+		grid.setItems(query -> {
+			int to = Math.min(getRowCount(), query.getOffset() + query.getLimit());
+			if (dataProvider != null) {
+				// share the cached pages with the rendered rows.
+				return IntStream.range(query.getOffset(), to).mapToObj(this::getStep).filter(Objects::nonNull);
+			}
+			return stepRowIndex.range(query.getOffset(), Math.max(query.getOffset(), to)).stream().map(this::getStep);
+		}, query -> getRowCount());
+		captionGridDataChangeListener = addDataChangeListener(event -> refreshCaptionGrid());
+		executeJs("this.registerScrollElement($0.$.table)", grid);
 		refreshForHorizontalScrollbar();
 		return grid;
 	}
@@ -1034,6 +2555,7 @@ public class Gantt extends Component implements HasSize {
 	 * @return A new {@link TreeGrid} instance
 	 */
 	public TreeGrid<Step> buildCaptionTreeGrid(@Nullable String header) {
+		checkNoDataProvider();
 		removeCaptionGrid();
 		var grid = new TreeGrid<Step>();
 		this.captionGrid = grid;
@@ -1050,26 +2572,26 @@ public class Gantt extends Component implements HasSize {
 				refreshForHorizontalScrollbar();
 			}
 		});
-		TreeData<Step> treeData = new TreeData<>();
+		TreeData<Step> treeData = new StepTreeData(this::ensureUID);
 		treeData.addRootItems(getStepsList());
 		var dataProvider = new TreeDataProvider<>(treeData);
 		grid.setDataProvider(dataProvider);
 		grid.addExpandListener(event -> {
-			addChildStepRecursively(grid, event.getItems(), new AtomicInteger(), false);
+			addChildSteps(grid, event.getItems(), false);
 		});
 		grid.addCollapseListener(event -> {
-			removeChildStepRecursively(grid, event.getItems());
+			removeChildSteps(grid, event.getItems());
 		});
 		captionGridDataChangeListener = addDataChangeListener(event -> {
+			FlightRecorderEvents.TreeSync treeSync = FlightRecorderEvents.beginTreeSync();
 			switch (event.getDataEvent()) {
 				case STEP_ADD:
 					event.getSteps().forEach(step -> handleTreeDataAdd(treeData, step));
 					break;
 				case STEP_REMOVE:
-					event.getSteps().forEach(step -> {
-						removeChildStepRecursively(getCaptionTreeGrid(), step);
-						grid.getTreeData().removeItem(step);
-					});
+					List<Step> removedSteps = event.getSteps().toList();
+					removeChildSteps(grid, removedSteps);
+					removedSteps.stream().filter(grid.getTreeData()::contains).forEach(grid.getTreeData()::removeItem);
 					break;
 				case STEP_MOVE:
 					event.getSteps().forEach(step -> handleTreeDataMove(grid.getTreeData(), step));
@@ -1077,28 +2599,39 @@ public class Gantt extends Component implements HasSize {
 				default:
 					break;
 			}
-			grid.getDataProvider().refreshAll();
-			refreshForHorizontalScrollbar();
+			refreshCaptionGrid();
+			if (treeSync != null && treeSync.shouldCommit()) {
+				treeSync.operation = event.getDataEvent().name();
+				treeSync.stepCount = (int) event.getSteps().count();
+				treeSync.firstUid = event.getSteps().findFirst().map(Step::getUid).orElse(null);
+				treeSync.commit();
+			}
 		});
-		getElement().executeJs("this.registerScrollElement($0.$.table)", grid);
+		executeJs("this.registerScrollElement($0.$.table)", grid);
 		refreshForHorizontalScrollbar();
 		return grid;
 	}
 
 	protected void handleTreeDataAdd(TreeData<Step> treeData, Step step) {
-		treeData.addRootItems(step);
 		int flatSiblingIndex = indexOf(step) - 1;
+		Step parent = null;
+		Step previousSibling = null;
 		if (flatSiblingIndex >= 0) {
-			Step flatSibling = getStepsList().get(flatSiblingIndex);
+			Step flatSibling = getStep(flatSiblingIndex);
 			if (getCaptionTreeGrid().isExpanded(flatSibling)) {
-				treeData.setParent(step, flatSibling);
-				treeData.moveAfterSibling(step, null);
+				parent = flatSibling;
 			} else {
-				treeData.setParent(step, treeData.getParent(flatSibling));
-				treeData.moveAfterSibling(step, flatSibling);
+				parent = treeData.getParent(flatSibling);
+				previousSibling = flatSibling;
 			}
-		} else {
-			treeData.moveAfterSibling(step, null);
+		}
+		List<Step> siblings = treeData.getChildren(parent);
+		boolean appendLast = previousSibling != null && !siblings.isEmpty()
+				&& Objects.equals(previousSibling, siblings.get(siblings.size() - 1));
+		treeData.addItem(parent, step);
+		if (!appendLast) {
+			// appended as the last child by default, so move only when needed.
+			treeData.moveAfterSibling(step, previousSibling);
 		}
 	}
 
@@ -1109,11 +2642,9 @@ public class Gantt extends Component implements HasSize {
 		Step prevNewSibling = null;
 		Step nextNewSibling = null;
 		if (index > 0) {
-			List<Step> oldFlatSubTree = getFlatSubTreeRecursively(treeData, step);
-			var stepList = getStepsList();
-			prevNewSibling = stepList.get(index - 1);
-			nextNewSibling = (stepList.size() > (index + 1)) ? getStepsList().get(index + 1) : null;
-			if (!oldFlatSubTree.contains(prevNewSibling)) {
+			prevNewSibling = getStep(index - 1);
+			nextNewSibling = (stepRowIndex.size() > (index + 1)) ? getStep(index + 1) : null;
+			if (!isDescendant(treeData, step, prevNewSibling)) {
 				if (Objects.equals(prevNewSibling, oldParent)) {
 					newParent = prevNewSibling;
 					prevNewSibling = null;
@@ -1133,36 +2664,70 @@ public class Gantt extends Component implements HasSize {
 			treeData.setParent(step, newParent);
 			treeData.moveAfterSibling(step, null);
 		}
-		// This is a messy way to sync state tree for updated DOM tree.
-		// First it updates the state tree in correct order by removing elements and adding elements,
-		// then it removes all steps and adds them back to avoid processing previous changes in incorrect order in client side.
-		boolean isStepExpanded = getCaptionTreeGrid().isExpanded(step);
-		boolean isSiblingStepExpanded = prevNewSibling != null && getCaptionTreeGrid().isExpanded(prevNewSibling);
-		if(isStepExpanded) {
-			removeChildStepRecursively(getCaptionTreeGrid(), step);
-		}
-		if(isSiblingStepExpanded) {
-			removeChildStepRecursively(getCaptionTreeGrid(), prevNewSibling);
+		// only the step row was moved. Rows of its visible sub tree are still in the
+		// old place, and when the step was placed right after an expanded sibling,
+		// it's now between the sibling and the sibling's sub tree.
+		if (getCaptionTreeGrid().isExpanded(step)) {
+			moveStepsAfter(step, getRowSubTree(treeData, step));
 		}
-		if(isStepExpanded) {
-			expand(step);
+		if (prevNewSibling != null && getCaptionTreeGrid().isExpanded(prevNewSibling)) {
+			moveStepsAfter(prevNewSibling, getRowSubTree(treeData, prevNewSibling));
 		}
-		if(isSiblingStepExpanded) {
-			expand(prevNewSibling);
+	}
+
+	/**
+	 * Returns descendants of the given step that are rows in this Gantt, in the
+	 * tree order.
+	 */
+	private List<Step> getRowSubTree(TreeData<Step> treeData, Step step) {
+		List<Step> steps = new ArrayList<>();
+		forEachDescendant(treeData, step, descendant -> {
+			if (contains(descendant)) {
+				steps.add(descendant);
+			}
+		});
+		return steps;
+	}
+
+	/**
+	 * Moves given steps as one contiguous block right after the given step, in
+	 * the given order. Elements are moved as is like in
+	 * {@link #moveStep(int, Step)}, so client receives only the changed
+	 * positions. Data change events are not fired.
+	 */
+	private void moveStepsAfter(Step previous, List<Step> block) {
+		List<String> uids = block.stream().map(Step::getUid).toList();
+		int row = indexOf(previous.getUid()) + 1;
+		if (uids.isEmpty() || (row + uids.size() <= stepRowIndex.size()
+				&& stepRowIndex.range(row, row + uids.size()).equals(uids))) {
+			return;
 		}
-		if(isStepExpanded) {
-			// state tree changes are messed up now. DOM is correct. Need to reset it all.
-			reset();
+		detachRows(uids);
+		row = indexOf(previous.getUid()) + 1;
+		stepRowIndex.insertAll(row, uids);
+		if (isVirtualRendering()) {
+			scheduleRowSync();
+			return;
 		}
+		getElement().insertChild(row,
+				uids.stream().map(uid -> getStepElement(uid).getElement()).toArray(Element[]::new));
 	}
 
-	private void reset() {
-		var allSteps = getStepElements().toList();
-		var allSubSteps = getSubStepElements().toList();
-		allSteps.forEach(s -> doRemoveStep((Step) s.getModel(), false));
-		allSteps.forEach(s -> getElement().appendChild(s.getElement()));
-		allSubSteps.forEach(this::addSubStepElement);
+	/**
+	 * Removes rows of the given UIDs and detaches their elements as is, so that
+	 * they can be inserted again.
+	 */
+	private void detachRows(Collection<String> uids) {
+		Map<String, Integer> rows = new HashMap<>(uids.size() * 2);
+		uids.forEach(uid -> rows.put(uid, indexOf(uid)));
+		uids.forEach(stepRowIndex::remove);
+		if (!isVirtualRendering()) {
+			// detach from the last row so that the remaining rows keep their indexes.
+			uids.stream().sorted(Comparator.comparing(rows::get, Comparator.reverseOrder()))
+					.forEach(uid -> detachStepElement(rows.get(uid), getStepElement(uid)));
+		}
 	}
+
 	/**
 	 * Expands all child steps directed by the caption TreeGrid's hierarchical data source.
 	 */
@@ -1191,28 +2756,103 @@ public class Gantt extends Component implements HasSize {
 		if(getCaptionTreeGrid() == null) {
 			return;
 		}
-		addChildStepRecursively(getCaptionTreeGrid(), items, new AtomicInteger(), expandWholeSubTree);
+		addChildSteps(getCaptionTreeGrid(), items, expandWholeSubTree);
 	}
 
-	private void addChildStepRecursively(TreeGrid<Step> grid, Collection<Step> items, AtomicInteger index, boolean expandWholeSubTree) {
-		items.forEach(item -> addChildStepRecursively(grid, item, index, expandWholeSubTree));
+	/**
+	 * Collapses all child steps directed by the caption TreeGrid's hierarchical data source.
+	 */
+	public void collapse(Step item) {
+		collapse(List.of(item));
 	}
 
-	private void addChildStepRecursively(TreeGrid<Step> grid, Step item, AtomicInteger index, boolean expandWholeSubTree) {
-		var dataProvider = grid.getDataProvider();
-		if (!dataProvider.hasChildren(item)) {
+	/**
+	 * Collapses all child steps directed by the caption TreeGrid's hierarchical data source.
+	 * Rows of all descendants are removed in one bulk removal.
+	 */
+	public void collapse(Collection<Step> items) {
+		if (getCaptionTreeGrid() == null) {
 			return;
 		}
-		if(!expandWholeSubTree && !grid.isExpanded(item)) {
+		removeChildSteps(getCaptionTreeGrid(), items);
+	}
+
+	/**
+	 * Adds descendants of the given steps directed by the caption TreeGrid's
+	 * hierarchical data source right after each step. Descendants of a step are
+	 * flattened once and inserted as one block. Existing rows in the block are
+	 * moved into it.
+	 */
+	private void addChildSteps(TreeGrid<Step> grid, Collection<Step> items, boolean expandWholeSubTree) {
+		FlightRecorderEvents.TreeSync event = FlightRecorderEvents.beginTreeSync();
+		long start = beginOperation();
+		try {
+			int stepCount = 0;
+			for (Step item : items) {
+				if (!contains(item) || (!expandWholeSubTree && !grid.isExpanded(item))) {
+					continue;
+				}
+				List<Step> childSteps = new ArrayList<>();
+				collectChildSteps(grid, item, expandWholeSubTree, childSteps);
+				if (!childSteps.isEmpty()) {
+					// rows that already exist are moved into the block.
+					insertSteps(indexOf(item) + 1, childSteps.stream(), false);
+					stepCount += childSteps.size();
+				}
+			}
+			refreshForHorizontalScrollbar();
+			if (event != null) {
+				event.operation = "EXPAND";
+				event.stepCount = stepCount;
+				event.firstUid = items.isEmpty() ? null : items.iterator().next().getUid();
+			}
+		} finally {
+			endOperation(GanttMetrics.Operation.EXPAND, event, start);
+		}
+	}
+
+	/**
+	 * Adds descendants of the given step to the given list in the tree order.
+	 * Children of a collapsed descendant are included only when
+	 * <code>expandWholeSubTree</code> is true.
+	 */
+	private void collectChildSteps(TreeGrid<Step> grid, Step item, boolean expandWholeSubTree, List<Step> steps) {
+		if (!grid.getTreeData().contains(item)) {
 			return;
 		}
-		if (index.get() == 0) {
-			index.set(getStepsList().indexOf(item) + 1);
+		if (expandWholeSubTree) {
+			forEachDescendant(grid.getTreeData(), item, steps::add);
+			return;
 		}
 		for (Step child : grid.getTreeData().getChildren(item)) {
-			addStep(index.get(), child, false);
-			index.incrementAndGet();
-			addChildStepRecursively(grid, child, index, expandWholeSubTree);
+			steps.add(child);
+			if (expandWholeSubTree || grid.isExpanded(child)) {
+				collectChildSteps(grid, child, expandWholeSubTree, steps);
+			}
+		}
+	}
+
+	/**
+	 * Returns true if the given step is a descendant of the given ancestor in the
+	 * given tree data. Uses the hierarchy index of {@link StepTreeData}, and walks
+	 * the sub tree only for tree data set by the application.
+	 */
+	private boolean isDescendant(TreeData<Step> treeData, Step ancestor, Step step) {
+		if (treeData instanceof StepTreeData stepTreeData) {
+			return stepTreeData.isDescendant(ancestor, step);
+		}
+		return getFlatSubTreeRecursively(treeData, ancestor).contains(step);
+	}
+
+	/**
+	 * Passes all descendants of the given step in the given tree data to the
+	 * given consumer in the tree order.
+	 */
+	private void forEachDescendant(TreeData<Step> treeData, Step step, Consumer<Step> consumer) {
+		if (treeData instanceof StepTreeData stepTreeData) {
+			stepTreeData.forEachDescendant(step, consumer);
+		} else {
+			getFlatSubTreeRecursively(treeData, step).forEach(consumer);
 		}
 	}
 
@@ -1228,24 +2868,26 @@ public class Gantt extends Component implements HasSize {
 	}
 
 	/**
-	 * Remove all child steps directed by the TreeGrid's hierarchical data
-	 * source.
-	 */
-	private void removeChildStepRecursively(TreeGrid<Step> grid, Collection<Step> items) {
-		items.stream().forEach(item -> removeChildStepRecursively(grid, item));
-	}
-
-	/**
-	 * Remove all child steps directed by the TreeGrid's hierarchical data
-	 * source.
+	 * Removes all descendants of the given steps directed by the TreeGrid's
+	 * hierarchical data source in one bulk removal.
 	 */
-	private void removeChildStepRecursively(TreeGrid<Step> grid, Step step) {
-		var dataProvider = grid.getDataProvider();
-		if (dataProvider.hasChildren(step)) {
-			for (Step child : grid.getTreeData().getChildren(step)) {
-				doRemoveStep(child, false);
-				removeChildStepRecursively(grid, child);
+	private void removeChildSteps(TreeGrid<Step> grid, Collection<Step> items) {
+		FlightRecorderEvents.TreeSync event = FlightRecorderEvents.beginTreeSync();
+		long start = beginOperation();
+		try {
+			List<Step> childSteps = new ArrayList<>();
+			items.forEach(item -> collectChildSteps(grid, item, true, childSteps));
+			if (!childSteps.isEmpty()) {
+				doRemoveAnySteps(childSteps.stream().map(Step::getUid).toList(), false);
+				refreshForHorizontalScrollbar();
 			}
+			if (event != null) {
+				event.operation = "COLLAPSE";
+				event.stepCount = childSteps.size();
+				event.firstUid = items.isEmpty() ? null : items.iterator().next().getUid();
+			}
+		} finally {
+			endOperation(GanttMetrics.Operation.COLLAPSE, event, start);
 		}
 	}
 
@@ -1259,8 +2901,8 @@ public class Gantt extends Component implements HasSize {
 		if(captionGrid != null) {
 			captionGridDataChangeListener.remove();
 			captionGridColumnResizeListener.remove();
-			getElement().executeJs("this.registerScrollElement(null)");
-			getElement().executeJs("this._container.style.overflowX = 'auto';");
+			executeJs("this.registerScrollElement(null)");
+			executeJs("this._container.style.overflowX = 'auto';");
 			captionGrid = null;
 		}
 	}
@@ -1285,11 +2927,176 @@ public class Gantt extends Component implements HasSize {
 		return captionGrid instanceof TreeGrid ? (TreeGrid<Step>) captionGrid : null;
 	}
 
+	/**
+	 * Refreshes the row of the given step in the caption grid. Used for changes
+	 * that don't affect the row order.
+	 */
+	private void refreshCaptionGridItem(Step step) {
+		if (captionGrid != null) {
+			captionGrid.getDataProvider().refreshItem(step);
+		}
+	}
+
+	/**
+	 * Refreshes all items in the caption grid, or just marks it to be refreshed
+	 * when an update is open. See {@link #beginUpdate()}.
+	 */
+	private void refreshCaptionGrid() {
+		if (captionGrid == null) {
+			return;
+		}
+		if (updateDepth > 0) {
+			pendingCaptionGridRefresh = true;
+			return;
+		}
+		captionGrid.getDataProvider().refreshAll();
+		refreshForHorizontalScrollbar();
+	}
+
+	/**
+	 * Marks the caption grid and the timeline to be aligned for the horizontal
+	 * scrollbar. Any number of calls during a round trip results in a single
+	 * JavaScript call before the client response.
+	 */
 	private void refreshForHorizontalScrollbar() {
 		if(captionGrid == null) {
 			return;
 		}
-		getElement().executeJs(
+		pendingHorizontalScrollbarRefresh = true;
+		scheduleClientCalls();
+	}
+
+	/**
+	 * Begins an operation timed for {@link GanttMetrics}. Only the outermost
+	 * operation is timed, so an operation calling another one is recorded once.
+	 * Operations end with {@link #endOperation} in a finally block, so nothing
+	 * is allocated for them when metrics are not set.
+	 *
+	 * @return start time in nanoseconds, or {@link Long#MIN_VALUE} when not timed
+	 */
+	private long beginOperation() {
+		return operationDepth++ == 0 && metrics != null ? System.nanoTime() : Long.MIN_VALUE;
+	}
+
+	/**
+	 * Ends an operation begun with {@link #beginOperation()}, and commits the
+	 * given flight recorder event of the operation, if any. Event is committed
+	 * also when the operation returns early or throws.
+	 */
+	private void endOperation(GanttMetrics.Operation operation, @Nullable Event event, long start) {
+		if (event != null && event.shouldCommit()) {
+			event.commit();
+		}
+		operationDepth--;
+		if (start != Long.MIN_VALUE && metrics != null) {
+			metrics.recordOperation(operation, System.nanoTime() - start);
+		}
+	}
+
+	private void recordClientEvent(Class<? extends ComponentEvent<Gantt>> eventType) {
+		if (metrics != null) {
+			metrics.recordClientEvent(eventType);
+		}
+	}
+
+	/**
+	 * Commits the given flight recorder event of a handled client event, if it's
+	 * not null.
+	 */
+	private static void commitClientEvent(FlightRecorderEvents.ClientEvent event,
+			Class<? extends ComponentEvent<Gantt>> eventType, String uid) {
+		if (event != null && event.shouldCommit()) {
+			event.eventType = eventType.getSimpleName();
+			event.uid = uid;
+			event.commit();
+		}
+	}
+
+	private PendingJavaScriptResult executeJs(String expression, Object... parameters) {
+		if (metrics != null) {
+			metrics.recordClientCall();
+		}
+		return getElement().executeJs(expression, parameters);
+	}
+
+	private PendingJavaScriptResult callJsFunction(String functionName, Object... arguments) {
+		if (metrics != null) {
+			metrics.recordClientCall();
+		}
+		return getElement().callJsFunction(functionName, arguments);
+	}
+
+	private void scheduleClientCalls() {
+		if (clientCallsScheduled) {
+			return;
+		}
+		clientCallsScheduled = true;
+		getElement().getNode().runWhenAttached(
+				ui -> ui.beforeClientResponse(this, context -> flushClientCalls()));
+	}
+
+	/**
+	 * Called when a field of a clean step in this Gantt changes. Changes are
+	 * flushed before the client response, or right away when detached so that
+	 * elements always match with their steps.
+	 */
+	private void onStepChange(GanttStep step) {
+		changedSteps.add(step);
+		if (isAttached()) {
+			scheduleClientCalls();
+		} else {
+			flushStepChanges();
+		}
+	}
+
+	private void flushStepChanges() {
+		FlightRecorderEvents.StepFlush event = changedSteps.isEmpty() ? null : FlightRecorderEvents.beginStepFlush();
+		for (GanttStep step : changedSteps) {
+			int fields = step.flushChanges();
+			if (fields == 0 || stepIndex.get(step.getUid()) != step) {
+				continue;
+			}
+			Step changed = step.isSubstep() ? getStep(((SubStep) step).getOwner().getUid()) : (Step) step;
+			if (changed != null && (dataMode || (virtualTimeRange && (fields & GanttStep.DATES) != 0))) {
+				stepChanged(changed);
+				scheduleRowSync();
+			}
+			if (!step.isSubstep() && (fields & GanttStep.CAPTION) != 0) {
+				refreshCaptionGridItem((Step) step);
+			}
+		}
+		if (event != null && event.shouldCommit()) {
+			event.stepCount = changedSteps.size();
+			event.firstUid = changedSteps.get(0).getUid();
+			event.commit();
+		}
+		changedSteps.clear();
+	}
+
+	private void flushClientCalls() {
+		flushStepChanges();
+		clientCallsScheduled = false;
+		if (pendingRowSync) {
+			if (dataMode) {
+				syncStepData();
+			} else {
+				syncRows();
+			}
+		}
+		if (pendingUpdateSize) {
+			pendingUpdateSize = false;
+			callJsFunction("updateSize");
+		}
+		if (pendingHorizontalScrollbarRefresh) {
+			pendingHorizontalScrollbarRefresh = false;
+			if (captionGrid != null) {
+				executeRefreshForHorizontalScrollbar();
+			}
+		}
+	}
+
+	private void executeRefreshForHorizontalScrollbar() {
+		executeJs(
 				"""
 				let self = this;
 				this.updateComplete.then(() => {
@@ -1312,7 +3119,111 @@ public class Gantt extends Component implements HasSize {
 	}
 
 	private void fireDataChangeEvent(DataEvent eventType, Stream<Step> steps) {
-		fireEvent(new GanttDataChangeEvent(this, eventType, steps));
+		if (updateDepth > 0) {
+			steps.forEach(step -> pendingDataChanges.add(eventType, step));
+			return;
+		}
+		dispatchDataChangeEvent(new GanttDataChangeEvent(this, eventType, steps));
+	}
+
+	private void dispatchDataChangeEvent(GanttDataChangeEvent dataChangeEvent) {
+		FlightRecorderEvents.DataChangeDispatch event = FlightRecorderEvents.beginDataChangeDispatch();
+		fireEvent(dataChangeEvent);
+		if (event != null && event.shouldCommit()) {
+			event.dataEvent = dataChangeEvent.getDataEvent().name();
+			event.stepCount = (int) dataChangeEvent.getSteps().count();
+			event.firstUid = dataChangeEvent.getSteps().findFirst().map(Step::getUid).orElse(null);
+			event.commit();
+		}
+	}
+
+	/**
+	 * Runs given mutations as one update. See {@link #beginUpdate()}.
+	 *
+	 * @param mutations Code that changes this Gantt, like adds, moves and removes
+	 *                  steps
+	 */
+	public void batch(Runnable mutations) {
+		Update update = beginUpdate();
+		try {
+			mutations.run();
+		} finally {
+			update.close();
+		}
+	}
+
+	/**
+	 * Opens an update that lasts until {@link Update#close()} is called. Meant
+	 * to be used with try-with-resources statement. While an update is open,
+	 * {@link GanttDataChangeEvent}s and caption grid refreshes are deferred.
+	 * When the outermost update is closed, data changes are merged by step and
+	 * fired once per {@link DataEvent} type (removes, then adds, then moves),
+	 * and the caption grid is refreshed once. Updates can be nested.
+	 *
+	 * @return Open {@link Update}
+	 */
+	public Update beginUpdate() {
+		return new Update();
+	}
+
+	private void commitUpdate() {
+		// keep caption grid refreshes deferred while dispatching merged events.
+		updateDepth++;
+		try {
+			while (!pendingDataChanges.isEmpty()) {
+				dispatchPendingDataChanges(DataEvent.STEP_REMOVE);
+				dispatchPendingDataChanges(DataEvent.STEP_ADD);
+				dispatchPendingDataChanges(DataEvent.STEP_MOVE);
+			}
+		} finally {
+			updateDepth--;
+		}
+		if (pendingCaptionGridRefresh) {
+			pendingCaptionGridRefresh = false;
+			refreshCaptionGrid();
+		}
+	}
+
+	private void dispatchPendingDataChanges(DataEvent eventType) {
+		List<Step> steps = pendingDataChanges.drain(eventType);
+		if (eventType != DataEvent.STEP_REMOVE) {
+			// skip steps that are not there anymore.
+			steps.removeIf(step -> !contains(step));
+		}
+		if (eventType == DataEvent.STEP_ADD) {
+			// listeners may expect that previous row is already handled.
+			steps.sort(Comparator.comparingInt(this::indexOf));
+		}
+		if (!steps.isEmpty()) {
+			dispatchDataChangeEvent(new GanttDataChangeEvent(this, eventType, steps.stream()));
+		}
+	}
+
+	/**
+	 * Open update of the {@link Gantt}. See {@link Gantt#beginUpdate()}.
+	 */
+	public final class Update implements AutoCloseable, Serializable {
+
+		private boolean closed;
+
+		private Update() {
+			updateDepth++;
+		}
+
+		/**
+		 * Closes this update. Closing the outermost update fires the deferred
+		 * events and refreshes. Closing it again does nothing.
+		 */
+		@Override
+		public void close() {
+			if (closed) {
+				return;
+			}
+			closed = true;
+			if (--updateDepth == 0) {
+				commitUpdate();
+			}
+		}
 	}
 
 }
@@ -0,0 +1,298 @@
+/*
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+
+package org.vaadin.tltv.gantt;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.function.Consumer;
+
+/**
+ * Sequence of values as an implicit treap with parent links. Values are
+ * addressed by their position, which is not stored, so values can be
+ * inserted, moved and removed as single nodes or blocks of nodes without
+ * re-numbering the others. Position of a node is found by walking up from the
+ * node. All operations take logarithmic time, plus constant time per visited
+ * value.
+ *
+ * @param <T> type of the values
+ */
+final class ImplicitTreap<T> implements Serializable {
+
+	/**
+	 * Node of a single value. Nodes are also roots of blocks that are not part of
+	 * the sequence, see {@link ImplicitTreap#cut(int, int)} and
+	 * {@link ImplicitTreap#concat(Node, Node)}.
+	 */
+	static final class Node<T> implements Serializable {
+		private final T value;
+		private final int priority;
+		private Node<T> left;
+		private Node<T> right;
+		private Node<T> parent;
+		private int size = 1;
+
+		private Node(T value, int priority) {
+			this.value = value;
+			this.priority = priority;
+		}
+
+		T getValue() {
+			return value;
+		}
+	}
+
+	private final Random random = new Random();
+	private Node<T> root;
+
+	/**
+	 * Returns number of values in the sequence.
+	 */
+	int size() {
+		return size(root);
+	}
+
+	/**
+	 * Returns a new node of the given value, which is not yet part of the
+	 * sequence.
+	 */
+	Node<T> newNode(T value) {
+		return new Node<>(value, random.nextInt());
+	}
+
+	/**
+	 * Inserts given node or block to the given zero based position, moving the
+	 * following values forward.
+	 *
+	 * @throws IndexOutOfBoundsException if position is not between 0 and
+	 *                                   {@link #size()}
+	 */
+	void insert(int position, Node<T> block) {
+		Objects.checkIndex(position, size() + 1);
+		Node<T>[] parts = split(root, position);
+		setRoot(merge(merge(parts[0], block), parts[1]));
+	}
+
+	/**
+	 * Removes values from <code>from</code> (inclusive) to <code>to</code>
+	 * (exclusive), moving the following values backward, and returns them as a
+	 * block, or null with an empty range.
+	 *
+	 * @throws IndexOutOfBoundsException if range is out of bounds
+	 */
+	Node<T> cut(int from, int to) {
+		Objects.checkFromToIndex(from, to, size());
+		Node<T>[] tail = split(root, to);
+		Node<T>[] head = split(tail[0], from);
+		setRoot(merge(head[0], tail[1]));
+		return head[1];
+	}
+
+	/**
+	 * Removes given node of the sequence, moving the following values backward.
+	 */
+	void remove(Node<T> node) {
+		Node<T> replacement = merge(node.left, node.right);
+		Node<T> parent = node.parent;
+		if (replacement != null) {
+			replacement.parent = parent;
+		}
+		if (parent == null) {
+			root = replacement;
+		} else if (parent.left == node) {
+			parent.left = replacement;
+		} else {
+			parent.right = replacement;
+		}
+		for (Node<T> ancestor = parent; ancestor != null; ancestor = ancestor.parent) {
+			ancestor.size = 1 + size(ancestor.left) + size(ancestor.right);
+		}
+		node.left = node.right = node.parent = null;
+		node.size = 1;
+	}
+
+	/**
+	 * Returns zero based position of the given node of the sequence.
+	 */
+	int indexOf(Node<T> node) {
+		int index = size(node.left);
+		for (Node<T> child = node; child.parent != null; child = child.parent) {
+			if (child.parent.right == child) {
+				index += size(child.parent.left) + 1;
+			}
+		}
+		return index;
+	}
+
+	/**
+	 * Returns value at the given zero based position.
+	 *
+	 * @throws IndexOutOfBoundsException if position is out of range
+	 */
+	T get(int position) {
+		Objects.checkIndex(position, size());
+		Node<T> node = root;
+		while (true) {
+			int leftSize = size(node.left);
+			if (position < leftSize) {
+				node = node.left;
+			} else if (position == leftSize) {
+				return node.value;
+			} else {
+				position -= leftSize + 1;
+				node = node.right;
+			}
+		}
+	}
+
+	/**
+	 * Passes values from <code>from</code> (inclusive) to <code>to</code>
+	 * (exclusive) in order to the given consumer.
+	 *
+	 * @throws IndexOutOfBoundsException if range is out of bounds
+	 */
+	void forEach(int from, int to, Consumer<? super T> consumer) {
+		Objects.checkFromToIndex(from, to, size());
+		forEach(root, from, to, consumer);
+	}
+
+	void clear() {
+		root = null;
+	}
+
+	/**
+	 * Returns a block of the values of the given blocks, where all values of
+	 * <code>first</code> come before the values of <code>second</code>. Either
+	 * can be null.
+	 */
+	static <T> Node<T> concat(Node<T> first, Node<T> second) {
+		Node<T> block = merge(first, second);
+		if (block != null) {
+			block.parent = null;
+		}
+		return block;
+	}
+
+	/**
+	 * Passes values of the given block in order to the given consumer.
+	 */
+	static <T> void forEach(Node<T> block, Consumer<? super T> consumer) {
+		forEach(block, 0, size(block), consumer);
+	}
+
+	private static <T> void forEach(Node<T> treap, int from, int to, Consumer<? super T> consumer) {
+		// stack has the next nodes in order with the next node on top.
+		List<Node<T>> stack = new ArrayList<>();
+		Node<T> node = treap;
+		int position = from;
+		while (node != null) {
+			int leftSize = size(node.left);
+			if (position <= leftSize) {
+				stack.add(node);
+				node = position < leftSize ? node.left : null;
+			} else {
+				position -= leftSize + 1;
+				node = node.right;
+			}
+		}
+		for (int count = from; count < to; count++) {
+			node = stack.remove(stack.size() - 1);
+			consumer.accept(node.value);
+			for (node = node.right; node != null; node = node.left) {
+				stack.add(node);
+			}
+		}
+	}
+
+	private void setRoot(Node<T> node) {
+		root = node;
+		if (root != null) {
+			root.parent = null;
+		}
+	}
+
+	private static int size(Node<?> node) {
+		return node != null ? node.size : 0;
+	}
+
+	private static <T> void update(Node<T> node) {
+		node.size = 1 + size(node.left) + size(node.right);
+		if (node.left != null) {
+			node.left.parent = node;
+		}
+		if (node.right != null) {
+			node.right.parent = node;
+		}
+	}
+
+	/**
+	 * Merges two treaps where all values of <code>first</code> come before values
+	 * of <code>second</code>.
+	 */
+	private static <T> Node<T> merge(Node<T> first, Node<T> second) {
+		if (first == null) {
+			return second;
+		}
+		if (second == null) {
+			return first;
+		}
+		if (first.priority > second.priority) {
+			first.right = merge(first.right, second);
+			update(first);
+			return first;
+		}
+		second.left = merge(first, second.left);
+		update(second);
+		return second;
+	}
+
+	/**
+	 * Splits treap so that first part has <code>count</code> first values and
+	 * second part the rest.
+	 */
+	@SuppressWarnings("unchecked")
+	private static <T> Node<T>[] split(Node<T> node, int count) {
+		if (node == null) {
+			return new Node[2];
+		}
+		Node<T>[] parts;
+		if (size(node.left) < count) {
+			parts = split(node.right, count - size(node.left) - 1);
+			node.right = parts[0];
+			update(node);
+			parts[0] = node;
+		} else {
+			parts = split(node.left, count);
+			node.left = parts[1];
+			update(node);
+			parts[1] = node;
+		}
+		for (Node<T> part : parts) {
+			if (part != null) {
+				part.parent = null;
+			}
+		}
+		return parts;
+	}
+}
@@ -0,0 +1,90 @@
+/*
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+
+package org.vaadin.tltv.gantt;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.vaadin.tltv.gantt.event.GanttDataChangeEvent.DataEvent;
+import org.vaadin.tltv.gantt.model.Step;
+
+/**
+ * Data changes collected during {@link Gantt#beginUpdate()}. Changes are merged
+ * by the step UID, so that each step appears at most once per
+ * {@link DataEvent} type:
+ * <ul>
+ * <li>a step added and removed in the same update is dropped,</li>
+ * <li>a move of a step added or removed in the same update is dropped,</li>
+ * <li>repeated moves of a step are merged into one.</li>
+ * </ul>
+ */
+final class PendingDataChanges implements Serializable {
+
+	private final Map<String, Step> added = new LinkedHashMap<>();
+	private final Map<String, Step> removed = new LinkedHashMap<>();
+	private final Map<String, Step> moved = new LinkedHashMap<>();
+
+	void add(DataEvent dataEvent, Step step) {
+		String uid = step.getUid();
+		switch (dataEvent) {
+		case STEP_ADD:
+			added.put(uid, step);
+			moved.remove(uid);
+			break;
+		case STEP_REMOVE:
+			if (added.remove(uid) == null) {
+				removed.put(uid, step);
+			}
+			moved.remove(uid);
+			break;
+		case STEP_MOVE:
+			if (!added.containsKey(uid)) {
+				moved.putIfAbsent(uid, step);
+			}
+			break;
+		default:
+			break;
+		}
+	}
+
+	boolean isEmpty() {
+		return added.isEmpty() && removed.isEmpty() && moved.isEmpty();
+	}
+
+	/**
+	 * Returns collected steps for the given event type in the order they were
+	 * first recorded, and clears them.
+	 */
+	List<Step> drain(DataEvent dataEvent) {
+		Map<String, Step> steps = switch (dataEvent) {
+		case STEP_ADD -> added;
+		case STEP_REMOVE -> removed;
+		case STEP_MOVE -> moved;
+		};
+		List<Step> list = new ArrayList<>(steps.values());
+		steps.clear();
+		return list;
+	}
+}
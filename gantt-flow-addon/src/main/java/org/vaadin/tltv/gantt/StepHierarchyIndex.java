@@ -0,0 +1,174 @@
+/*
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+
+package org.vaadin.tltv.gantt;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.vaadin.tltv.gantt.ImplicitTreap.Node;
+import org.vaadin.tltv.gantt.model.Step;
+
+/**
+ * Hierarchy of the steps in the caption tree as an Euler tour: each step has an
+ * enter and an exit token, and the tokens of its descendants are between them.
+ * Tokens are kept in an {@link ImplicitTreap}, so a whole sub tree is moved by
+ * cutting and inserting a single block, and ancestor checks compare token
+ * positions, all in logarithmic time.
+ */
+final class StepHierarchyIndex implements Serializable {
+
+	private static final class Token implements Serializable {
+		private final Step step;
+		private final boolean enter;
+
+		private Token(Step step, boolean enter) {
+			this.step = step;
+			this.enter = enter;
+		}
+	}
+
+	private final ImplicitTreap<Token> tour = new ImplicitTreap<>();
+	private final Map<String, Node<Token>> enterNodes = new HashMap<>();
+	private final Map<String, Node<Token>> exitNodes = new HashMap<>();
+
+	/**
+	 * Returns number of steps.
+	 */
+	int size() {
+		return enterNodes.size();
+	}
+
+	boolean contains(String uid) {
+		return enterNodes.containsKey(uid);
+	}
+
+	/**
+	 * Adds given step as the last child of the given parent, or as the last root
+	 * with a null parent.
+	 */
+	void add(String parentUid, Step step) {
+		Node<Token> enter = tour.newNode(new Token(step, true));
+		Node<Token> exit = tour.newNode(new Token(step, false));
+		tour.insert(getLastChildPosition(parentUid), ImplicitTreap.concat(enter, exit));
+		enterNodes.put(step.getUid(), enter);
+		exitNodes.put(step.getUid(), exit);
+	}
+
+	/**
+	 * Removes given step and all its descendants.
+	 */
+	void remove(String uid) {
+		if (!contains(uid)) {
+			return;
+		}
+		ImplicitTreap.forEach(cut(uid), token -> {
+			enterNodes.remove(token.step.getUid());
+			exitNodes.remove(token.step.getUid());
+		});
+	}
+
+	/**
+	 * Moves sub tree of the given step to be the last child of the given parent,
+	 * or the last root with a null parent.
+	 */
+	void moveToLastChild(String uid, String parentUid) {
+		Node<Token> block = cut(uid);
+		tour.insert(getLastChildPosition(parentUid), block);
+	}
+
+	/**
+	 * Moves sub tree of the given step right after the given sibling's sub tree,
+	 * or to be the first child of the given parent with a null sibling.
+	 */
+	void moveAfterSibling(String uid, String parentUid, String siblingUid) {
+		Node<Token> block = cut(uid);
+		int position;
+		if (siblingUid != null) {
+			position = tour.indexOf(exitNodes.get(siblingUid)) + 1;
+		} else {
+			position = parentUid != null ? tour.indexOf(enterNodes.get(parentUid)) + 1 : 0;
+		}
+		tour.insert(position, block);
+	}
+
+	/**
+	 * Returns true if the given step is a descendant of the given ancestor, and
+	 * false if it's not or either of them is not in the index.
+	 */
+	boolean isDescendant(String ancestorUid, String uid) {
+		Node<Token> ancestorEnter = enterNodes.get(ancestorUid);
+		Node<Token> enter = enterNodes.get(uid);
+		if (ancestorEnter == null || enter == null || ancestorEnter == enter) {
+			return false;
+		}
+		int position = tour.indexOf(enter);
+		return tour.indexOf(ancestorEnter) < position && position < tour.indexOf(exitNodes.get(ancestorUid));
+	}
+
+	/**
+	 * Returns number of descendants of the given step, or 0 if it's not in the
+	 * index.
+	 */
+	int getDescendantCount(String uid) {
+		Node<Token> enter = enterNodes.get(uid);
+		if (enter == null) {
+			return 0;
+		}
+		return (tour.indexOf(exitNodes.get(uid)) - tour.indexOf(enter) - 1) / 2;
+	}
+
+	/**
+	 * Passes descendants of the given step to the given consumer in the tree
+	 * order, without building intermediate lists.
+	 */
+	void forEachDescendant(String uid, Consumer<Step> consumer) {
+		Node<Token> enter = enterNodes.get(uid);
+		if (enter == null) {
+			return;
+		}
+		tour.forEach(tour.indexOf(enter) + 1, tour.indexOf(exitNodes.get(uid)), token -> {
+			if (token.enter) {
+				consumer.accept(token.step);
+			}
+		});
+	}
+
+	void clear() {
+		enterNodes.clear();
+		exitNodes.clear();
+		tour.clear();
+	}
+
+	private int getLastChildPosition(String parentUid) {
+		return parentUid != null ? tour.indexOf(exitNodes.get(parentUid)) : tour.size();
+	}
+
+	/**
+	 * Cuts tokens of the given step's sub tree out of the tour and returns them
+	 * as a separate block.
+	 */
+	private Node<Token> cut(String uid) {
+		return tour.cut(tour.indexOf(enterNodes.get(uid)), tour.indexOf(exitNodes.get(uid)) + 1);
+	}
+}
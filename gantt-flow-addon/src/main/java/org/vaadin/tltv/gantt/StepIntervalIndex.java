@@ -0,0 +1,222 @@
+/*
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+
+package org.vaadin.tltv.gantt;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Time intervals of the steps in {@link Gantt} by the step UID. Backed by a
+ * treap ordered by the interval start and augmented with the maximum end of
+ * each subtree, so steps overlapping a time range are found in logarithmic
+ * time plus the number of found steps. Steps without start or end date overlap
+ * every time range.
+ */
+final class StepIntervalIndex implements Serializable {
+
+	private static final class Node implements Serializable {
+		private final String uid;
+		private final long start;
+		private final long end;
+		private final int priority;
+		private Node left;
+		private Node right;
+		private long maxEnd;
+
+		private Node(String uid, long start, long end, int priority) {
+			this.uid = uid;
+			this.start = start;
+			this.end = end;
+			this.priority = priority;
+			this.maxEnd = end;
+		}
+	}
+
+	private final Map<String, Node> nodes = new HashMap<>();
+	private final Set<String> undated = new HashSet<>();
+	private final Random random = new Random();
+	private Node root;
+
+	/**
+	 * Returns number of indexed steps.
+	 */
+	int size() {
+		return nodes.size() + undated.size();
+	}
+
+	/**
+	 * Adds or replaces interval of the given UID. Start and end are inclusive.
+	 */
+	void put(String uid, LocalDateTime start, LocalDateTime end) {
+		Objects.requireNonNull(uid);
+		remove(uid);
+		if (start == null || end == null) {
+			undated.add(uid);
+			return;
+		}
+		long startSeconds = toSeconds(start);
+		Node node = new Node(uid, startSeconds, Math.max(startSeconds, toSeconds(end)), random.nextInt());
+		nodes.put(uid, node);
+		Node[] parts = split(root, node);
+		root = merge(merge(parts[0], node), parts[1]);
+	}
+
+	/**
+	 * Removes interval of the given UID.
+	 *
+	 * @return true if interval existed
+	 */
+	boolean remove(String uid) {
+		if (undated.remove(uid)) {
+			return true;
+		}
+		Node node = nodes.remove(uid);
+		if (node == null) {
+			return false;
+		}
+		root = remove(root, node);
+		return true;
+	}
+
+	/**
+	 * Returns true if interval of the given UID overlaps the given inclusive time
+	 * range, or if UID is not indexed or it has no dates.
+	 */
+	boolean overlaps(String uid, LocalDateTime from, LocalDateTime to) {
+		Node node = nodes.get(uid);
+		return node == null || node.start <= toSeconds(to) && node.end >= toSeconds(from);
+	}
+
+	/**
+	 * Returns UIDs of the intervals overlapping the given inclusive time range,
+	 * including UIDs without dates. Order is not specified.
+	 */
+	List<String> query(LocalDateTime from, LocalDateTime to) {
+		List<String> uids = new ArrayList<>(undated);
+		collect(root, toSeconds(from), toSeconds(to), uids);
+		return uids;
+	}
+
+	void clear() {
+		nodes.clear();
+		undated.clear();
+		root = null;
+	}
+
+	private static void collect(Node node, long from, long to, List<String> uids) {
+		if (node == null || node.maxEnd < from) {
+			return;
+		}
+		collect(node.left, from, to, uids);
+		if (node.start > to) {
+			// this and the right subtree start after the range.
+			return;
+		}
+		if (node.end >= from) {
+			uids.add(node.uid);
+		}
+		collect(node.right, from, to, uids);
+	}
+
+	private static long toSeconds(LocalDateTime dateTime) {
+		return dateTime.toEpochSecond(ZoneOffset.UTC);
+	}
+
+	private static int compare(Node first, Node second) {
+		int result = Long.compare(first.start, second.start);
+		return result != 0 ? result : first.uid.compareTo(second.uid);
+	}
+
+	private static long maxEnd(Node node) {
+		return node != null ? node.maxEnd : Long.MIN_VALUE;
+	}
+
+	private static void update(Node node) {
+		node.maxEnd = Math.max(node.end, Math.max(maxEnd(node.left), maxEnd(node.right)));
+	}
+
+	private static Node remove(Node current, Node node) {
+		if (current == node) {
+			return merge(node.left, node.right);
+		}
+		if (compare(node, current) < 0) {
+			current.left = remove(current.left, node);
+		} else {
+			current.right = remove(current.right, node);
+		}
+		update(current);
+		return current;
+	}
+
+	/**
+	 * Merges two treaps where all nodes of <code>first</code> come before nodes of
+	 * <code>second</code>.
+	 */
+	private static Node merge(Node first, Node second) {
+		if (first == null) {
+			return second;
+		}
+		if (second == null) {
+			return first;
+		}
+		if (first.priority > second.priority) {
+			first.right = merge(first.right, second);
+			update(first);
+			return first;
+		}
+		second.left = merge(first, second.left);
+		update(second);
+		return second;
+	}
+
+	/**
+	 * Splits treap so that first part has the nodes before the given key node and
+	 * second part the rest.
+	 */
+	private static Node[] split(Node node, Node key) {
+		if (node == null) {
+			return new Node[2];
+		}
+		Node[] parts;
+		if (compare(node, key) < 0) {
+			parts = split(node.right, key);
+			node.right = parts[0];
+			update(node);
+			parts[0] = node;
+		} else {
+			parts = split(node.left, key);
+			node.left = parts[1];
+			update(node);
+			parts[1] = node;
+		}
+		return parts;
+	}
+}
@@ -0,0 +1,165 @@
+/*
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+
+package org.vaadin.tltv.gantt;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.vaadin.tltv.gantt.model.Step;
+
+/**
+ * Pages of steps fetched from a data provider of {@link Gantt}. Pages are kept
+ * in least recently used order, and pages beyond the maximum count are evicted
+ * on {@link #evict(int, int)} unless they are retained.
+ */
+final class StepPageCache implements Serializable {
+
+	private int pageSize = 50;
+	private int maxPages = 20;
+	private int size = -1;
+	private final Map<Integer, List<Step>> pages = new LinkedHashMap<>(16, 0.75f, true);
+	private final Map<String, Integer> rows = new HashMap<>();
+
+	int getPageSize() {
+		return pageSize;
+	}
+
+	void setPageSize(int pageSize) {
+		this.pageSize = pageSize;
+	}
+
+	int getMaxPages() {
+		return maxPages;
+	}
+
+	void setMaxPages(int maxPages) {
+		this.maxPages = maxPages;
+	}
+
+	/**
+	 * Returns known number of rows, or -1 if it's not known.
+	 */
+	int getSize() {
+		return size;
+	}
+
+	void setSize(int size) {
+		this.size = size;
+	}
+
+	int getPage(int row) {
+		return row / pageSize;
+	}
+
+	boolean isLoaded(int page) {
+		return pages.containsKey(page);
+	}
+
+	/**
+	 * Returns cached step at the given row or null if its page is not loaded.
+	 */
+	Step get(int row) {
+		List<Step> page = pages.get(getPage(row));
+		int index = row % pageSize;
+		return page != null && index < page.size() ? page.get(index) : null;
+	}
+
+	/**
+	 * Adds fetched steps of the given page. Steps must have UIDs.
+	 */
+	void putPage(int page, List<Step> steps) {
+		List<Step> pageSteps = new ArrayList<>(steps);
+		pages.put(page, pageSteps);
+		for (int index = 0; index < pageSteps.size(); index++) {
+			rows.put(pageSteps.get(index).getUid(), page * pageSize + index);
+		}
+	}
+
+	/**
+	 * Returns row of the cached step with the given UID or -1.
+	 */
+	int indexOf(String uid) {
+		return rows.getOrDefault(uid, -1);
+	}
+
+	/**
+	 * Replaces cached step that has the same UID as the given step.
+	 *
+	 * @return replaced step or null if there was none
+	 */
+	Step replace(Step step) {
+		int row = indexOf(step.getUid());
+		if (row < 0) {
+			return null;
+		}
+		List<Step> page = pages.get(getPage(row));
+		return page.set(row % pageSize, Objects.requireNonNull(step));
+	}
+
+	/**
+	 * Evicts least recently used pages until there are at most maximum number of
+	 * pages left. Pages between the given pages are retained.
+	 *
+	 * @return steps of the evicted pages
+	 */
+	List<Step> evict(int firstRetainedPage, int lastRetainedPage) {
+		List<Step> evicted = new ArrayList<>();
+		var iterator = pages.entrySet().iterator();
+		int removable = pages.size() - maxPages;
+		while (removable > 0 && iterator.hasNext()) {
+			var entry = iterator.next();
+			if (entry.getKey() < firstRetainedPage || entry.getKey() > lastRetainedPage) {
+				iterator.remove();
+				removable--;
+				entry.getValue().forEach(step -> rows.remove(step.getUid()));
+				evicted.addAll(entry.getValue());
+			}
+		}
+		return evicted;
+	}
+
+	/**
+	 * Clears all pages and the known size.
+	 *
+	 * @return steps of the cleared pages
+	 */
+	List<Step> clear() {
+		List<Step> cleared = new ArrayList<>();
+		pages.values().forEach(cleared::addAll);
+		pages.clear();
+		rows.clear();
+		size = -1;
+		return cleared;
+	}
+
+	/**
+	 * Returns UIDs of the cached steps in their row order.
+	 */
+	List<String> getUids() {
+		return rows.entrySet().stream().sorted(Map.Entry.comparingByValue()).map(Map.Entry::getKey).toList();
+	}
+}
@@ -0,0 +1,172 @@
+/*
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+
+package org.vaadin.tltv.gantt;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.vaadin.tltv.gantt.ImplicitTreap.Node;
+
+/**
+ * Row order of the steps in {@link Gantt}. Backed by an {@link ImplicitTreap}
+ * of UIDs and a node per UID, so both "row of UID" and "UID at row" are
+ * answered in logarithmic time, and rows can be inserted, moved and removed
+ * without re-numbering the other rows.
+ */
+final class StepRowIndex implements Serializable {
+
+	private final ImplicitTreap<String> rows = new ImplicitTreap<>();
+	private final Map<String, Node<String>> nodes = new HashMap<>();
+
+	/**
+	 * Returns number of rows.
+	 */
+	int size() {
+		return nodes.size();
+	}
+
+	boolean contains(String uid) {
+		return nodes.containsKey(uid);
+	}
+
+	/**
+	 * Appends given UID as the last row.
+	 */
+	void add(String uid) {
+		insert(size(), uid);
+	}
+
+	/**
+	 * Inserts given UID to the given zero based row, moving following rows one
+	 * row forward.
+	 *
+	 * @throws IllegalArgumentException if UID is already in the index
+	 * @throws IndexOutOfBoundsException if row is not between 0 and
+	 *                                   {@link #size()}
+	 */
+	void insert(int row, String uid) {
+		Objects.requireNonNull(uid);
+		Objects.checkIndex(row, size() + 1);
+		if (nodes.containsKey(uid)) {
+			throw new IllegalArgumentException("Row for UID " + uid + " already exists");
+		}
+		Node<String> node = rows.newNode(uid);
+		rows.insert(row, node);
+		nodes.put(uid, node);
+	}
+
+	/**
+	 * Inserts given UIDs in the given order as a block starting from the given zero
+	 * based row, moving following rows forward.
+	 *
+	 * @throws IllegalArgumentException if any UID is already in the index or
+	 *                                  repeated
+	 * @throws IndexOutOfBoundsException if row is not between 0 and
+	 *                                   {@link #size()}
+	 */
+	void insertAll(int row, Collection<String> uids) {
+		Objects.checkIndex(row, size() + 1);
+		if (uids.stream().distinct().count() != uids.size() || uids.stream().anyMatch(nodes::containsKey)) {
+			throw new IllegalArgumentException("Rows for given UIDs are not unique");
+		}
+		Node<String> block = null;
+		for (String uid : uids) {
+			Node<String> node = rows.newNode(Objects.requireNonNull(uid));
+			nodes.put(uid, node);
+			block = ImplicitTreap.concat(block, node);
+		}
+		rows.insert(row, block);
+	}
+
+	/**
+	 * Removes row of the given UID, moving following rows one row backward.
+	 *
+	 * @return true if row existed
+	 */
+	boolean remove(String uid) {
+		Node<String> node = nodes.remove(uid);
+		if (node == null) {
+			return false;
+		}
+		rows.remove(node);
+		return true;
+	}
+
+	/**
+	 * Removes rows from <code>from</code> (inclusive) to <code>to</code>
+	 * (exclusive), moving following rows backward. Takes logarithmic time plus
+	 * constant time per removed row.
+	 *
+	 * @throws IndexOutOfBoundsException if range is out of bounds
+	 */
+	void removeRange(int from, int to) {
+		ImplicitTreap.forEach(rows.cut(from, to), nodes::remove);
+	}
+
+	/**
+	 * Returns zero based row of the given UID or -1 if it doesn't exist.
+	 */
+	int indexOf(String uid) {
+		Node<String> node = nodes.get(uid);
+		return node != null ? rows.indexOf(node) : -1;
+	}
+
+	/**
+	 * Returns UID at the given zero based row.
+	 *
+	 * @throws IndexOutOfBoundsException if row is out of range
+	 */
+	String get(int row) {
+		return rows.get(row);
+	}
+
+	/**
+	 * Returns UIDs of the rows from <code>from</code> (inclusive) to
+	 * <code>to</code> (exclusive) in row order. Takes logarithmic time to find the
+	 * first row and then constant time per row.
+	 *
+	 * @throws IndexOutOfBoundsException if range is out of bounds
+	 */
+	List<String> range(int from, int to) {
+		Objects.checkFromToIndex(from, to, size());
+		List<String> uids = new ArrayList<>(to - from);
+		rows.forEach(from, to, uids::add);
+		return uids;
+	}
+
+	void clear() {
+		nodes.clear();
+		rows.clear();
+	}
+
+	/**
+	 * Returns all UIDs in row order.
+	 */
+	List<String> toList() {
+		return range(0, size());
+	}
+}
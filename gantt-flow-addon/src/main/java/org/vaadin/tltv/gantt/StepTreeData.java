@@ -0,0 +1,107 @@
+/*
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+
+package org.vaadin.tltv.gantt;
+
+import java.util.Objects;
+import java.util.function.Consumer;
+
+import org.vaadin.tltv.gantt.model.Step;
+
+import com.vaadin.flow.data.provider.hierarchy.TreeData;
+import com.vaadin.flow.function.SerializableFunction;
+
+/**
+ * {@link TreeData} of the caption tree grid that keeps a
+ * {@link StepHierarchyIndex} in sync with the hierarchy. All changes to
+ * {@link TreeData} go through {@link #addItem(Step, Step)},
+ * {@link #removeItem(Step)}, {@link #setParent(Step, Step)} and
+ * {@link #moveAfterSibling(Step, Step)}, so changes made by the application are
+ * indexed too. Added steps get their UID before they are stored, as the index
+ * is based on UIDs.
+ */
+final class StepTreeData extends TreeData<Step> {
+
+	private final StepHierarchyIndex hierarchyIndex = new StepHierarchyIndex();
+	private final SerializableFunction<Step, Step> uidGenerator;
+
+	StepTreeData(SerializableFunction<Step, Step> uidGenerator) {
+		this.uidGenerator = uidGenerator;
+	}
+
+	@Override
+	public TreeData<Step> addItem(Step parent, Step item) {
+		super.addItem(parent, uidGenerator.apply(Objects.requireNonNull(item)));
+		hierarchyIndex.add(parent != null ? parent.getUid() : null, item);
+		return this;
+	}
+
+	@Override
+	public TreeData<Step> removeItem(Step item) {
+		super.removeItem(item);
+		if (item == null) {
+			hierarchyIndex.clear();
+		} else {
+			hierarchyIndex.remove(item.getUid());
+		}
+		return this;
+	}
+
+	@Override
+	public void setParent(Step item, Step parent) {
+		Step previousParent = getParent(item);
+		super.setParent(item, parent);
+		if (!Objects.equals(previousParent, parent)) {
+			// moved as the last child of the new parent.
+			hierarchyIndex.moveToLastChild(item.getUid(), parent != null ? parent.getUid() : null);
+		}
+	}
+
+	@Override
+	public void moveAfterSibling(Step item, Step sibling) {
+		super.moveAfterSibling(item, sibling);
+		Step parent = getParent(item);
+		hierarchyIndex.moveAfterSibling(item.getUid(), parent != null ? parent.getUid() : null,
+				sibling != null ? sibling.getUid() : null);
+	}
+
+	/**
+	 * Returns true if the given step is a descendant of the given ancestor.
+	 */
+	boolean isDescendant(Step ancestor, Step step) {
+		return hierarchyIndex.isDescendant(ancestor.getUid(), step.getUid());
+	}
+
+	/**
+	 * Returns number of all descendants of the given step.
+	 */
+	int getDescendantCount(Step step) {
+		return hierarchyIndex.getDescendantCount(step.getUid());
+	}
+
+	/**
+	 * Passes all descendants of the given step to the given consumer in the tree
+	 * order.
+	 */
+	void forEachDescendant(Step step, Consumer<Step> consumer) {
+		hierarchyIndex.forEachDescendant(step.getUid(), consumer);
+	}
+}
@@ -4,6 +4,7 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 
@@ -24,24 +25,68 @@ import com.vaadin.flow.shared.Registration;
 @Tag("gantt-step-element")
 public class StepElement extends Component implements HasComponents {
 
-	private final String uid;
+	private String uid;
 	
 	private GanttStep model;
+
+	// Last values written to the attributes. Getters read these instead of
+	// parsing the attributes, and setters skip writes of unchanged values.
+	// Getters return pending changes of the model instead, see isPending(int).
+	private String caption;
+	private String backgroundColor;
+	private LocalDateTime startDateTime;
+	private LocalDateTime endDateTime;
 	
 	private final List<BiConsumer<ContextMenu, String>> contextMenuBuilders = new ArrayList<>();
 	private final List<Registration> contextMenuDomListenerRegistrations = new ArrayList<>();
 	private final List<Tooltip> tooltips = new ArrayList<>();
 	
 	public StepElement(GanttStep model) {
+		setModel(model);
+	}
+
+	/**
+	 * Binds this element to the given step descriptor and refreshes it. Previous
+	 * step descriptor is unlinked from this element. Used when element instances
+	 * are reused for other steps.
+	 *
+	 * @param model step descriptor for this element. Not null.
+	 */
+	public void setModel(GanttStep model) {
+		Objects.requireNonNull(model, "Setting null model is not allowed");
+		if (this.model != null && this.model != model && this.model.getElement() == this) {
+			this.model.setElement(null);
+		}
 		this.model = model;
 		this.uid = model.getUid();
 		model.setElement(this);
-		
+
 		getElement().setProperty("uid", this.uid);
 		refresh();
 	}
 	
 	public void refresh() {
+		StepElementEvents.StepRefresh event = StepElementEvents.beginStepRefresh();
+		if (event == null) {
+			writeModel();
+			return;
+		}
+		Object[] previous = { caption, backgroundColor, startDateTime, endDateTime };
+		writeModel();
+		if (event.shouldCommit()) {
+			Object[] written = { caption, backgroundColor, startDateTime, endDateTime };
+			event.uid = uid;
+			event.subStep = model.isSubstep();
+			for (int index = 0; index < written.length; index++) {
+				if (!Objects.equals(previous[index], written[index])) {
+					event.writtenAttributes++;
+				}
+			}
+			event.commit();
+		}
+	}
+
+	private void writeModel() {
 		setCaption(model.getCaption());
 		setBackgroundColor(model.getBackgroundColor());
 		setStartDateTime(model.getStartDate());
@@ -57,46 +102,83 @@ public class StepElement extends Component implements HasComponents {
 	}
 
 	public void setCaption(String caption) {
+		if (caption != null && caption.equals(this.caption)) {
+			return;
+		}
 		getElement().setAttribute("caption", caption);
+		this.caption = caption;
 	}
 	
 	public String getCaption() {
-		return getElement().getAttribute("caption");
+		return isPending(GanttStep.CAPTION) ? model.getCaption() : caption;
 	}
 	
 	public void setBackgroundColor(String backgroundColor) {
+		if (backgroundColor != null && backgroundColor.equals(this.backgroundColor)) {
+			return;
+		}
 		getElement().setAttribute("backgroundColor", backgroundColor);
+		this.backgroundColor = backgroundColor;
 	}
 	
 	public String getBackgroundColor() {
-		return getElement().getAttribute("backgroundColor");
+		return isPending(GanttStep.BACKGROUND_COLOR) ? model.getBackgroundColor() : backgroundColor;
 	}
 	
 	public void setStartDateTime(LocalDateTime startDateTime) {
-		getElement().setAttribute("start",
-				GanttUtil.formatDateTime(GanttUtil.resetTimeToMin(startDateTime, Resolution.Hour)));
+		LocalDateTime value = GanttUtil.resetTimeToMin(startDateTime, Resolution.Hour);
+		if (value != null && value.equals(this.startDateTime)) {
+			return;
+		}
+		getElement().setAttribute("start", GanttUtil.formatDateTime(value));
+		this.startDateTime = value;
 	}
 
 	public LocalDateTime getStartDateTime() {
-		return GanttUtil.parseLocalDateTime(getElement().getAttribute("start"));
+		return isPending(GanttStep.DATES) ? GanttUtil.resetTimeToMin(model.getStartDate(), Resolution.Hour)
+				: startDateTime;
 	}
 
 	public void setEndDateTime(LocalDateTime endDateTime) {
-		getElement().setAttribute("end",
-				GanttUtil.formatDateTime(GanttUtil.resetTimeToMin(endDateTime, Resolution.Hour)));
+		LocalDateTime value = GanttUtil.resetTimeToMin(endDateTime, Resolution.Hour);
+		if (value != null && value.equals(this.endDateTime)) {
+			return;
+		}
+		getElement().setAttribute("end", GanttUtil.formatDateTime(value));
+		this.endDateTime = value;
 	}
 
 	public LocalDateTime getEndDateTime() {
-		return GanttUtil.parseLocalDateTime(getElement().getAttribute("end"));
+		return isPending(GanttStep.DATES) ? GanttUtil.resetTimeToMin(model.getEndDate(), Resolution.Hour)
+				: endDateTime;
+	}
+
+	/**
+	 * Returns true if the given field of the model is changed but not yet written
+	 * to this element. Getters return those from the model, so that they match
+	 * with the model within the same request without touching the element before
+	 * Gantt flushes the changes.
+	 */
+	private boolean isPending(int field) {
+		return (model.getDirtyFields() & field) != 0;
 	}
 
 	/**
 	 * Remove element from the parent and clear all context menu listeners ({@link #getContextMenuBuilders()}).
 	 */
 	public void removeFromParent() {
-		contextMenuDomListenerRegistrations.forEach(Registration::remove);
+		clearContextMenus();
 		getElement().removeFromParent();
 	}
+
+	/**
+	 * Clear all context menu listeners ({@link #getContextMenuBuilders()}) without
+	 * touching the element itself.
+	 */
+	public void clearContextMenus() {
+		contextMenuDomListenerRegistrations.forEach(Registration::remove);
+		contextMenuDomListenerRegistrations.clear();
+	}
 	
 	/**
 	 * Adds dynamic context menu. Builder is responsible rebuilding the context menu
@@ -0,0 +1,70 @@
+/*
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+
+package org.vaadin.tltv.gantt.element;
+
+import org.jspecify.annotations.Nullable;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JDK Flight Recorder events of {@link StepElement}, in the same category as
+ * the events of {@link org.vaadin.tltv.gantt.Gantt}. Events are created only
+ * when their type is enabled in a running recording.
+ */
+final class StepElementEvents {
+
+	private static final EventType STEP_REFRESH = EventType.getEventType(StepRefresh.class);
+
+	private StepElementEvents() {
+	}
+
+	/**
+	 * Returns a new begun step refresh event, or null if the type is not enabled
+	 * in any running recording.
+	 */
+	static @Nullable StepRefresh beginStepRefresh() {
+		if (!STEP_REFRESH.isEnabled()) {
+			return null;
+		}
+		StepRefresh event = new StepRefresh();
+		event.begin();
+		return event;
+	}
+
+	@Name("gantt.StepRefresh")
+	@Label("Step Refresh")
+	@Category("Gantt")
+	@Description("Step element attributes written from the step")
+	static final class StepRefresh extends Event {
+		@Label("UID")
+		String uid;
+		@Label("Sub Step")
+		boolean subStep;
+		@Label("Written Attributes")
+		int writtenAttributes;
+	}
+}
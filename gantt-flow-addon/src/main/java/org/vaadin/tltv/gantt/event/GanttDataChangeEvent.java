@@ -1,5 +1,6 @@
 package org.vaadin.tltv.gantt.event;
 
+import java.util.List;
 import java.util.stream.Stream;
 
 import org.vaadin.tltv.gantt.Gantt;
@@ -17,20 +18,24 @@ public class GanttDataChangeEvent extends ComponentEvent<Gantt> {
 	}
 
 	private final DataEvent dataEvent;
-	private final Stream<Step> steps;
+	private final List<Step> steps;
 
 	
 	public GanttDataChangeEvent(Gantt source, DataEvent dataEvent, Stream<Step> steps) {
 		super(source, false);
 		this.dataEvent = dataEvent;
-		this.steps = steps;
+		this.steps = steps.toList();
 	}
 
 	public DataEvent getDataEvent() {
 		return dataEvent;
 	}
 
+	/**
+	 * Returns changed steps. Each call returns a new {@link Stream}, so the steps
+	 * can be read by multiple listeners.
+	 */
 	public Stream<Step> getSteps() {
-		return steps;
+		return steps.stream();
 	}
 }
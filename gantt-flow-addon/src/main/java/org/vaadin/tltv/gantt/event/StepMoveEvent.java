@@ -15,8 +15,12 @@ public class StepMoveEvent extends ComponentEvent<Gantt> {
 
 	private final String uid;
 	private final String newUid;
-	private final LocalDateTime start;
-	private final LocalDateTime end;
+	private final String startValue;
+	private final String endValue;
+	// resolved on first use, a listener chain reads these many times per move.
+	private GanttStep anyStep;
+	private LocalDateTime start;
+	private LocalDateTime end;
 	
 	public StepMoveEvent(Gantt source, boolean fromClient, 
 			@EventData("event.detail.uid") String uid,
@@ -26,24 +30,43 @@ public class StepMoveEvent extends ComponentEvent<Gantt> {
 		super(source, fromClient);
 		this.uid = uid;
 		this.newUid = newUid;
-		this.start = GanttUtil.parseLocalDateTime(start);
-		this.end = GanttUtil.parseLocalDateTime(end);
+		this.startValue = start;
+		this.endValue = end;
 	}
 
 	/**
-	 * Return moved step or sub step.
+	 * Return moved step or sub step. Step is resolved by its UID once and the
+	 * same instance is returned on the following calls.
 	 * 
 	 * @return {@link GanttStep}
 	 */
 	public GanttStep getAnyStep() {
-		return getSource().getAnyStep(uid);
+		if (anyStep == null) {
+			anyStep = getSource().getAnyStep(uid);
+		}
+		return anyStep;
+	}
+
+	/**
+	 * Return UID of the moved step or sub step.
+	 *
+	 * @return UID
+	 */
+	public String getUid() {
+		return uid;
 	}
 	
 	public LocalDateTime getStart() {
+		if (start == null && startValue != null) {
+			start = GanttUtil.parseLocalDateTime(startValue);
+		}
 		return start;
 	}
 	
 	public LocalDateTime getEnd() {
+		if (end == null && endValue != null) {
+			end = GanttUtil.parseLocalDateTime(endValue);
+		}
 		return end;
 	}
 	
@@ -14,8 +14,12 @@ import com.vaadin.flow.component.EventData;
 public class StepResizeEvent extends ComponentEvent<Gantt> {
 
 	private final String uid;
-	private final LocalDateTime start;
-	private final LocalDateTime end;
+	private final String startValue;
+	private final String endValue;
+	// resolved on first use, like in StepMoveEvent.
+	private GanttStep anyStep;
+	private LocalDateTime start;
+	private LocalDateTime end;
 	
 	public StepResizeEvent(Gantt source, boolean fromClient, 
 			@EventData("event.detail.uid") String uid,
@@ -23,19 +27,32 @@ public class StepResizeEvent extends ComponentEvent<Gantt> {
 			@EventData("event.detail.end") String end) {
 		super(source, fromClient);
 		this.uid = uid;
-		this.start = GanttUtil.parseLocalDateTime(start);
-		this.end = GanttUtil.parseLocalDateTime(end);
+		this.startValue = start;
+		this.endValue = end;
 	}
 
 	public GanttStep getAnyStep() {
-		return getSource().getAnyStep(uid);
+		if (anyStep == null) {
+			anyStep = getSource().getAnyStep(uid);
+		}
+		return anyStep;
+	}
+
+	public String getUid() {
+		return uid;
 	}
 	
 	public LocalDateTime getStart() {
+		if (start == null && startValue != null) {
+			start = GanttUtil.parseLocalDateTime(startValue);
+		}
 		return start;
 	}
 	
 	public LocalDateTime getEnd() {
+		if (end == null && endValue != null) {
+			end = GanttUtil.parseLocalDateTime(endValue);
+		}
 		return end;
 	}
 }
@@ -0,0 +1,103 @@
+/*
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+
+package org.vaadin.tltv.gantt.metrics;
+
+import java.io.Serializable;
+
+import org.vaadin.tltv.gantt.Gantt;
+
+import com.vaadin.flow.component.ComponentEvent;
+
+/**
+ * Optional instrumentation of a {@link Gantt}, set with
+ * {@link Gantt#setMetrics(GanttMetrics)}. Gantt calls the methods while
+ * holding the session lock, and they do nothing by default. Live values bound
+ * in {@link #bind(Gantt)} are usually read by the metrics backend in its own
+ * threads without the lock, so only getters that are documented to be safe for
+ * that, like {@link Gantt#getStepElementCount()}, should be bound.
+ * {@link MicrometerGanttMetrics} records them with Micrometer.
+ */
+public interface GanttMetrics extends Serializable {
+
+	/**
+	 * Timed operations. Only the outermost operation is recorded, for example
+	 * adding the child steps of an expanded step is part of {@link #EXPAND}.
+	 */
+	enum Operation {
+		/** Adding steps or sub steps. */
+		ADD,
+		/** Moving a step or a sub step to another row. */
+		MOVE,
+		/** Removing steps or sub steps. */
+		REMOVE,
+		/** Adding rows of expanded caption tree grid items. */
+		EXPAND,
+		/** Removing rows of collapsed caption tree grid items. */
+		COLLAPSE
+	}
+
+	/**
+	 * Called when the given Gantt using this instance is attached, or when this
+	 * instance is set for an attached Gantt. Live values, like
+	 * {@link Gantt#getStepElementCount()}, can be bound here.
+	 *
+	 * @param gantt Gantt using this instance
+	 */
+	default void bind(Gantt gantt) {
+	}
+
+	/**
+	 * Called when the given Gantt using this instance is detached, or when this
+	 * instance is replaced in an attached Gantt. Values bound in
+	 * {@link #bind(Gantt)} should be released here.
+	 *
+	 * @param gantt Gantt that used this instance
+	 */
+	default void unbind(Gantt gantt) {
+	}
+
+	/**
+	 * Called after an operation is done.
+	 *
+	 * @param operation operation that was done
+	 * @param nanos     duration of the operation in nanoseconds
+	 */
+	default void recordOperation(Operation operation, long nanos) {
+	}
+
+	/**
+	 * Called for every JavaScript invocation, <code>executeJs</code> or
+	 * <code>callJsFunction</code>, the Gantt makes on its element.
+	 */
+	default void recordClientCall() {
+	}
+
+	/**
+	 * Called when Gantt handles an event from the client, like
+	 * {@link org.vaadin.tltv.gantt.event.StepMoveEvent} or
+	 * {@link org.vaadin.tltv.gantt.event.StepResizeEvent}.
+	 *
+	 * @param eventType type of the handled event
+	 */
+	default void recordClientEvent(Class<? extends ComponentEvent<Gantt>> eventType) {
+	}
+}
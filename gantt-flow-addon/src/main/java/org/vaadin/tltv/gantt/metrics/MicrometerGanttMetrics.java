@@ -0,0 +1,171 @@
+/*
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+
+package org.vaadin.tltv.gantt.metrics;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+import org.jspecify.annotations.Nullable;
+import org.slf4j.LoggerFactory;
+import org.vaadin.tltv.gantt.Gantt;
+
+import com.vaadin.flow.component.ComponentEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * {@link GanttMetrics} that records to a Micrometer {@link MeterRegistry}.
+ * Micrometer is an optional dependency, and this class is loaded only when
+ * it's used, so <code>io.micrometer:micrometer-core</code> is needed on the
+ * classpath only then. Use a separate instance for every Gantt with tags that
+ * tell them apart, like the name of the view. Registers following meters:
+ * <ul>
+ * <li><code>gantt.operations</code> timer with <code>operation</code> tag for
+ * each {@link GanttMetrics.Operation}</li>
+ * <li><code>gantt.client.calls</code> counter of JavaScript invocations</li>
+ * <li><code>gantt.client.events</code> counter with <code>event</code> tag for
+ * each handled client event type</li>
+ * <li><code>gantt.step.elements</code> and <code>gantt.substep.elements</code>
+ * gauges of the rendered step and sub step components</li>
+ * </ul>
+ * Gauges are registered while the Gantt is attached, and removed from the
+ * registry when it's detached. An instance can be bound to one Gantt at a time.
+ * Registry returns the existing gauge for the same name and tags, so gauges
+ * are not registered, and a warning is logged, when another attached Gantt
+ * already has them. Timers and counters of the same tags are shared.
+ * <p>
+ * Meters are not serialized with the session, and nothing is recorded after
+ * the session is deserialized.
+ */
+public class MicrometerGanttMetrics implements GanttMetrics {
+
+	private final transient MeterRegistry registry;
+	private final transient Tags tags;
+	private final transient Map<Operation, Timer> timers;
+	private final transient Counter clientCalls;
+	private final transient Map<Class<?>, Counter> clientEvents;
+	private final transient List<Gauge> gauges;
+	/** Gantt with the registered gauges, or null when not bound. */
+	private transient @Nullable Gantt gantt;
+
+	/**
+	 * Creates metrics registering meters with the given tags to the given
+	 * registry.
+	 *
+	 * @param registry registry of the meters. Not null.
+	 * @param tags     tags of all meters
+	 */
+	public MicrometerGanttMetrics(MeterRegistry registry, Iterable<Tag> tags) {
+		this.registry = registry;
+		this.tags = Tags.of(tags);
+		timers = new EnumMap<>(Operation.class);
+		for (Operation operation : Operation.values()) {
+			timers.put(operation, Timer.builder("gantt.operations").description("Gantt operations")
+					.tags(this.tags).tag("operation", operation.name().toLowerCase(Locale.ROOT)).register(registry));
+		}
+		clientCalls = Counter.builder("gantt.client.calls").description("Gantt JavaScript invocations")
+				.tags(this.tags).register(registry);
+		clientEvents = new HashMap<>();
+		gauges = new ArrayList<>();
+	}
+
+	/**
+	 * Registers gauges of the rendered components of the given Gantt.
+	 *
+	 * @throws IllegalStateException if this instance is bound to another Gantt
+	 */
+	@Override
+	public void bind(Gantt gantt) {
+		if (registry == null || this.gantt == gantt) {
+			return;
+		}
+		if (this.gantt != null) {
+			throw new IllegalStateException(
+					"Metrics are already bound to another Gantt, use a separate instance for every Gantt");
+		}
+		this.gantt = gantt;
+		registerGauge("gantt.step.elements", "Rendered Gantt step components", Gantt::getStepElementCount);
+		registerGauge("gantt.substep.elements", "Rendered Gantt sub step components",
+				Gantt::getSubStepElementCount);
+	}
+
+	/**
+	 * Removes the gauges registered for the given Gantt from the registry.
+	 */
+	@Override
+	public void unbind(Gantt gantt) {
+		if (registry == null || this.gantt != gantt) {
+			return;
+		}
+		gauges.forEach(registry::remove);
+		gauges.clear();
+		this.gantt = null;
+	}
+
+	private void registerGauge(String name, String description, ToDoubleFunction<Gantt> value) {
+		Collection<Gauge> existing = registry.find(name).gauges();
+		Gauge gauge = Gauge.builder(name, gantt, value).description(description).tags(tags).register(registry);
+		if (existing.contains(gauge)) {
+			LoggerFactory.getLogger(MicrometerGanttMetrics.class).warn(
+					"Gauge {} with tags {} is already registered for another Gantt, use tags that tell them apart",
+					name, tags);
+		} else {
+			gauges.add(gauge);
+		}
+	}
+
+	@Override
+	public void recordOperation(Operation operation, long nanos) {
+		if (registry != null) {
+			timers.get(operation).record(nanos, TimeUnit.NANOSECONDS);
+		}
+	}
+
+	@Override
+	public void recordClientCall() {
+		if (registry != null) {
+			clientCalls.increment();
+		}
+	}
+
+	@Override
+	public void recordClientEvent(Class<? extends ComponentEvent<Gantt>> eventType) {
+		if (registry != null) {
+			clientEvents.computeIfAbsent(eventType,
+					type -> Counter.builder("gantt.client.events").description("Handled Gantt client events")
+							.tags(tags).tag("event", type.getSimpleName()).register(registry))
+					.increment();
+		}
+	}
+}
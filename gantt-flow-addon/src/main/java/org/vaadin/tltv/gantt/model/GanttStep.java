@@ -3,14 +3,28 @@ package org.vaadin.tltv.gantt.model;
 import java.time.LocalDateTime;
 import java.util.Map;
 import java.util.Objects;
+import java.util.function.Consumer;
+
 import org.vaadin.tltv.gantt.Gantt;
 import org.vaadin.tltv.gantt.element.StepElement;
 
 /**
  * Abstract base class describing a step inside {@link Gantt} component.
+ * <p>
+ * Changes made with the setters to a step in an attached {@link Gantt} are
+ * written to its {@link StepElement} before the client response, so the
+ * attributes of the element keep their old values until then. Getters of
+ * {@link StepElement} return the new values right away.
  */
 public abstract class GanttStep {
 
+    /** Dirty bit of the caption. */
+    public static final int CAPTION = 1;
+    /** Dirty bit of the background color. */
+    public static final int BACKGROUND_COLOR = 1 << 1;
+    /** Dirty bit of the start and end dates. */
+    public static final int DATES = 1 << 2;
+
     private Long identifier;
     private String uid = "";
     private String captionMode = "TEXT";
@@ -25,6 +39,8 @@ public abstract class GanttStep {
     private LocalDateTime startDate;
     private LocalDateTime endDate;
     private StepElement stepElement;
+    private int dirtyFields;
+    private Consumer<GanttStep> changeListener;
 
     /** Application specific optional identifier. */
     public Long getIdentifier() {
@@ -80,7 +96,10 @@ public abstract class GanttStep {
     }
 
     public void setCaption(String caption) {
-        this.caption = caption;
+        if (!Objects.equals(this.caption, caption)) {
+            this.caption = caption;
+            markDirty(CAPTION);
+        }
     }
 
     /**
@@ -115,7 +134,10 @@ public abstract class GanttStep {
      * Sets background color like '#000000' or 'red'. null clears it.
      */
     public void setBackgroundColor(String backgroundColor) {
-        this.backgroundColor = backgroundColor;
+        if (!Objects.equals(this.backgroundColor, backgroundColor)) {
+            this.backgroundColor = backgroundColor;
+            markDirty(BACKGROUND_COLOR);
+        }
     }
 
     public double getProgress() {
@@ -177,9 +199,9 @@ public abstract class GanttStep {
      * Set inclusive start date and time.
      */
     public void setStartDate(LocalDateTime startDate) {
-        this.startDate = startDate;
-        if (stepElement != null) {
-        		stepElement.setStartDateTime(startDate);
+        if (!Objects.equals(this.startDate, startDate)) {
+            this.startDate = startDate;
+            markDirty(DATES);
         }
     }
 
@@ -194,10 +216,10 @@ public abstract class GanttStep {
      * Set inclusive end date and time.
      */
     public void setEndDate(LocalDateTime endDate) {
-        this.endDate = endDate;
-        if (stepElement != null) {
-      		stepElement.setEndDateTime(endDate);
-      }
+        if (!Objects.equals(this.endDate, endDate)) {
+            this.endDate = endDate;
+            markDirty(DATES);
+        }
     }
 
     public abstract boolean isSubstep();
@@ -237,4 +259,67 @@ public abstract class GanttStep {
 			this.stepElement = stepElement;
 		}
 
+    /**
+     * Returns {@link StepElement} linked to this step, or null if there is none.
+     */
+    public StepElement getElement() {
+        return stepElement;
+    }
+
+    /**
+     * Returns dirty bits ({@link #CAPTION}, {@link #DATES} etc.) of the fields
+     * changed since the last {@link #flushChanges()}.
+     */
+    public int getDirtyFields() {
+        return dirtyFields;
+    }
+
+    /**
+     * Sets listener notified when a field of a clean step changes. Further changes
+     * are collected to the dirty bits until {@link #flushChanges()}. Without a
+     * listener, changes are flushed to the linked {@link StepElement}
+     * immediately. {@link Gantt} sets this for the steps it contains, and flushes
+     * the changes once per server round trip.
+     */
+    public void setChangeListener(Consumer<GanttStep> changeListener) {
+        this.changeListener = changeListener;
+        if (changeListener != null && dirtyFields != 0) {
+            changeListener.accept(this);
+        }
+    }
+
+    /**
+     * Writes changed fields to the linked {@link StepElement}, if any, and clears
+     * the dirty bits.
+     *
+     * @return dirty bits before the flush
+     */
+    public int flushChanges() {
+        int fields = dirtyFields;
+        dirtyFields = 0;
+        if (stepElement != null) {
+            if ((fields & CAPTION) != 0) {
+                stepElement.setCaption(caption);
+            }
+            if ((fields & BACKGROUND_COLOR) != 0) {
+                stepElement.setBackgroundColor(backgroundColor);
+            }
+            if ((fields & DATES) != 0) {
+                stepElement.setStartDateTime(startDate);
+                stepElement.setEndDateTime(endDate);
+            }
+        }
+        return fields;
+    }
+
+    private void markDirty(int field) {
+        boolean clean = dirtyFields == 0;
+        dirtyFields |= field;
+        if (changeListener == null) {
+            flushChanges();
+        } else if (clean) {
+            changeListener.accept(this);
+        }
+    }
+
 }
@@ -1,5 +1,7 @@
 package org.vaadin.tltv.gantt.util;
 
+import java.time.DateTimeException;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
@@ -17,6 +19,17 @@ public class GanttUtil {
 	private final static DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern(DATE_PATTERN);
 	private final static DateTimeFormatter dateHourFormatter = DateTimeFormatter.ofPattern(DATE_HOUR_PATTERN);
 
+	private static final int DATE_LENGTH = 10;
+	private static final int DATE_HOUR_LENGTH = 13;
+	private static final int DATE_TIME_LENGTH = 19;
+	/**
+	 * Per thread buffer for the hand written fixed width codec below. Formatters
+	 * are used only as a fallback for values the fixed width shapes can't
+	 * represent, so the output stays identical to the patterns above.
+	 */
+	private static final ThreadLocal<char[]> formatBuffer = ThreadLocal
+			.withInitial(() -> new char[DATE_TIME_LENGTH]);
+
 	/**
 	 * Format given {@link TemporalAccessor} to datetime format yyyy-MM-ddTHH:mm:ss.
 	 * 
@@ -24,10 +37,20 @@ public class GanttUtil {
 	 * @return Formatted datetime
 	 */
 	public static String formatDateTime(TemporalAccessor temporal) {
+		if (temporal instanceof LocalDateTime dateTime && isFixedWidthYear(dateTime.getYear())) {
+			return format(dateTime.getYear(), dateTime.getMonthValue(), dateTime.getDayOfMonth(), dateTime.getHour(),
+					dateTime.getMinute(), dateTime.getSecond(), DATE_TIME_LENGTH);
+		}
 		return dateTimeFormatter.format(temporal);
 	}
 
 	public static TemporalAccessor parseDateTime(CharSequence text) {
+		if (text.length() == DATE_TIME_LENGTH) {
+			LocalDateTime dateTime = parseFixedWidth(text, DATE_TIME_LENGTH);
+			if (dateTime != null) {
+				return dateTime;
+			}
+		}
 		return dateTimeFormatter.parse(text);
 	}
 	
@@ -38,18 +61,41 @@ public class GanttUtil {
 	 * @return Formatted date
 	 */
 	public static String formatDate(TemporalAccessor temporal) {
+		if (temporal instanceof LocalDateTime dateTime && isFixedWidthYear(dateTime.getYear())) {
+			return format(dateTime.getYear(), dateTime.getMonthValue(), dateTime.getDayOfMonth(), 0, 0, 0,
+					DATE_LENGTH);
+		}
+		if (temporal instanceof LocalDate date && isFixedWidthYear(date.getYear())) {
+			return format(date.getYear(), date.getMonthValue(), date.getDayOfMonth(), 0, 0, 0, DATE_LENGTH);
+		}
 		return dateFormatter.format(temporal);
 	}
 
 	public static TemporalAccessor parseDate(CharSequence text) {
+		if (text.length() == DATE_LENGTH) {
+			LocalDateTime dateTime = parseFixedWidth(text, DATE_LENGTH);
+			if (dateTime != null) {
+				return dateTime.toLocalDate();
+			}
+		}
 		return dateFormatter.parse(text);
 	}
 	
 	public static String formatDateHour(TemporalAccessor temporal) {
+		if (temporal instanceof LocalDateTime dateTime && isFixedWidthYear(dateTime.getYear())) {
+			return format(dateTime.getYear(), dateTime.getMonthValue(), dateTime.getDayOfMonth(), dateTime.getHour(),
+					0, 0, DATE_HOUR_LENGTH);
+		}
 		return dateHourFormatter.format(temporal);
 	}
 
 	public static TemporalAccessor parseDateHour(CharSequence text) {
+		if (text.length() == DATE_HOUR_LENGTH) {
+			LocalDateTime dateTime = parseFixedWidth(text, DATE_HOUR_LENGTH);
+			if (dateTime != null) {
+				return dateTime;
+			}
+		}
 		return dateHourFormatter.parse(text);
 	}
 	
@@ -63,7 +109,109 @@ public class GanttUtil {
 	}
 	
 	public static LocalDateTime parseLocalDateTime(CharSequence text) {
-		return LocalDateTime.from(parseDateTime(text.subSequence(0, 19)));
+		if (text.length() >= DATE_TIME_LENGTH) {
+			LocalDateTime dateTime = parseFixedWidth(text, DATE_TIME_LENGTH);
+			if (dateTime != null) {
+				return dateTime;
+			}
+		}
+		return LocalDateTime.from(parseDateTime(text.subSequence(0, DATE_TIME_LENGTH)));
+	}
+
+	/**
+	 * Pattern <code>yyyy</code> pads to four digits and prints wider years as
+	 * they are, but years before the common era are printed as year-of-era.
+	 * Fixed width codec handles only the common four digit years.
+	 */
+	private static boolean isFixedWidthYear(int year) {
+		return year >= 1 && year <= 9999;
+	}
+
+	/**
+	 * Writes first <code>length</code> characters of
+	 * <code>yyyy-MM-ddTHH:mm:ss</code> into the thread's buffer and returns them
+	 * as a string.
+	 */
+	private static String format(int year, int month, int day, int hour, int minute, int second, int length) {
+		char[] buffer = formatBuffer.get();
+		writeDigits(buffer, 0, year / 100);
+		writeDigits(buffer, 2, year % 100);
+		buffer[4] = '-';
+		writeDigits(buffer, 5, month);
+		buffer[7] = '-';
+		writeDigits(buffer, 8, day);
+		if (length > DATE_LENGTH) {
+			buffer[10] = 'T';
+			writeDigits(buffer, 11, hour);
+		}
+		if (length > DATE_HOUR_LENGTH) {
+			buffer[13] = ':';
+			writeDigits(buffer, 14, minute);
+			buffer[16] = ':';
+			writeDigits(buffer, 17, second);
+		}
+		return new String(buffer, 0, length);
+	}
+
+	private static void writeDigits(char[] buffer, int offset, int value) {
+		buffer[offset] = (char) ('0' + value / 10);
+		buffer[offset + 1] = (char) ('0' + value % 10);
+	}
+
+	/**
+	 * Parses first <code>length</code> characters of the given text in
+	 * <code>yyyy-MM-ddTHH:mm:ss</code> shape. Missing time fields are zero.
+	 * Returns null when text doesn't match the shape exactly or the values don't
+	 * make a valid datetime, leaving the error or lenient resolving of an out of
+	 * range day to the formatter.
+	 */
+	private static LocalDateTime parseFixedWidth(CharSequence text, int length) {
+		if (text.charAt(4) != '-' || text.charAt(7) != '-') {
+			return null;
+		}
+		int year = readDigits(text, 0, 4);
+		int month = readDigits(text, 5, 2);
+		int day = readDigits(text, 8, 2);
+		int hour = 0;
+		int minute = 0;
+		int second = 0;
+		if (length > DATE_LENGTH) {
+			if (text.charAt(10) != 'T') {
+				return null;
+			}
+			hour = readDigits(text, 11, 2);
+		}
+		if (length > DATE_HOUR_LENGTH) {
+			if (text.charAt(13) != ':' || text.charAt(16) != ':') {
+				return null;
+			}
+			minute = readDigits(text, 14, 2);
+			second = readDigits(text, 17, 2);
+		}
+		if ((year | month | day | hour | minute | second) < 0 || year == 0) {
+			return null;
+		}
+		try {
+			return LocalDateTime.of(year, month, day, hour, minute, second);
+		} catch (DateTimeException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Returns value of the ASCII digits in the given range or -1 if there is a
+	 * non digit character.
+	 */
+	private static int readDigits(CharSequence text, int offset, int count) {
+		int value = 0;
+		for (int i = offset; i < offset + count; i++) {
+			int digit = text.charAt(i) - '0';
+			if (digit < 0 || digit > 9) {
+				return -1;
+			}
+			value = value * 10 + digit;
+		}
+		return value;
 	}
 
 	/**
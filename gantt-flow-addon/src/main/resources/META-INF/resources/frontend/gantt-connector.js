@@ -0,0 +1,231 @@
+/**
+ * Client side counterpart of the Gantt component. Initialized once per element
+ * with window.Vaadin.Flow.ganttConnector.initLazy(gantt), after which the server
+ * controls it with the virtualRows, virtualTimeRange and virtualRowsOverscan
+ * properties and the functions in gantt.$connector. Listeners are added with a
+ * Lit reactive controller, so that they live only while the element is connected.
+ */
+const ganttConnector = {
+	initLazy(gantt) {
+		if (gantt.$connector) {
+			return;
+		}
+		gantt.$connector = {};
+
+		let frame = 0;
+		let lastFirst, lastCount, lastFrom, lastTo;
+
+		const getRowHeight = () => {
+			const steps = gantt.querySelectorAll(':scope > gantt-step-element');
+			let rowHeight = 0;
+			if (steps.length > 1 && steps[0].nextElementSibling === steps[1]) {
+				rowHeight = steps[1].offsetTop - steps[0].offsetTop;
+			} else if (steps.length > 0) {
+				const style = getComputedStyle(steps[0]);
+				rowHeight = steps[0].offsetHeight + Math.max(parseFloat(style.marginTop), parseFloat(style.marginBottom));
+			}
+			if (rowHeight > 0) {
+				gantt._virtualRowHeight = rowHeight;
+				// sizes the placeholder elements of the rows that are not rendered.
+				gantt.style.setProperty('--gantt-virtual-row-height', rowHeight + 'px');
+			}
+			return gantt._virtualRowHeight || 30;
+		};
+
+		/*
+		 * Reports visible rows and visible part of the timeline to the server when
+		 * they have changed enough to need new steps rendered.
+		 */
+		const updateViewport = () => {
+			// scroll container of the gantt-element.
+			const container = gantt._container;
+			if (!container) {
+				return;
+			}
+			if (gantt.virtualRows) {
+				const rowHeight = getRowHeight();
+				// default of Gantt#setVirtualRowsOverscan.
+				const overscan = gantt.virtualRowsOverscan ?? 20;
+				const rowThreshold = Math.max(1, Math.floor(overscan / 2));
+				const first = Math.floor(container.scrollTop / rowHeight);
+				const count = Math.ceil(container.clientHeight / rowHeight) + 1;
+				if (lastFirst === undefined || Math.abs(first - lastFirst) >= rowThreshold || count !== lastCount) {
+					lastFirst = first;
+					lastCount = count;
+					gantt.$server.updateVisibleRows(first, count);
+				}
+			}
+			if (gantt.virtualTimeRange && container.scrollWidth > 0) {
+				const from = container.scrollLeft / container.scrollWidth;
+				const to = (container.scrollLeft + container.clientWidth) / container.scrollWidth;
+				if (lastFrom === undefined || Math.abs(from - lastFrom) >= (to - from) / 2
+						|| Math.abs((to - from) - (lastTo - lastFrom)) > 0.001) {
+					lastFrom = from;
+					lastTo = to;
+					gantt.$server.updateVisibleTimeRange(from, to);
+				}
+			}
+		};
+
+		const scheduleViewportUpdate = () => {
+			cancelAnimationFrame(frame);
+			frame = requestAnimationFrame(updateViewport);
+		};
+
+		/*
+		 * Forgets the last reported viewport, so that it is reported again. Called
+		 * when virtual rendering is enabled or disabled.
+		 */
+		gantt.$connector.resetViewport = () => {
+			lastFirst = lastCount = lastFrom = lastTo = undefined;
+			scheduleViewportUpdate();
+		};
+
+		const dataElements = new Map();
+		// row order as a linked list of uid -> { prev, next }, so that an op does not scan the rows.
+		const rows = new Map();
+		let firstRow = null;
+		let lastRow = null;
+
+		const unlinkRow = uid => {
+			const row = rows.get(uid);
+			if (!row) {
+				return;
+			}
+			if (row.prev == null) {
+				firstRow = row.next;
+			} else {
+				rows.get(row.prev).next = row.next;
+			}
+			if (row.next == null) {
+				lastRow = row.prev;
+			} else {
+				rows.get(row.next).prev = row.prev;
+			}
+			rows.delete(uid);
+		};
+
+		// links the row before the given one, or last when it is not a row.
+		const linkRow = (uid, before) => {
+			const next = before != null && rows.has(before) ? before : null;
+			const prev = next == null ? lastRow : rows.get(next).prev;
+			rows.set(uid, { prev, next });
+			if (prev == null) {
+				firstRow = uid;
+			} else {
+				rows.get(prev).next = uid;
+			}
+			if (next == null) {
+				lastRow = uid;
+			} else {
+				rows.get(next).prev = uid;
+			}
+		};
+
+		const updateStepElement = (element, step) => {
+			element.uid = step.uid;
+			for (const name of ['caption', 'backgroundColor', 'start', 'end']) {
+				if (step[name] == null) {
+					element.removeAttribute(name);
+				} else {
+					element.setAttribute(name, step[name]);
+				}
+			}
+		};
+
+		const createStepElement = step => {
+			const element = document.createElement('gantt-step-element');
+			updateStepElement(element, step);
+			(step.subSteps || []).forEach(subStep => element.appendChild(createStepElement(subStep)));
+			return element;
+		};
+
+		const setStepData = step => {
+			dataElements.get(step.uid)?.remove();
+			dataElements.delete(step.uid);
+			if (!step.decorated) {
+				dataElements.set(step.uid, createStepElement(step));
+			}
+		};
+
+		/*
+		 * Applies step data patches sent by the server in data mode. Elements
+		 * created from the data and the decorated step elements are kept in the row
+		 * order.
+		 */
+		gantt.$connector.applyStepData = ops => {
+			for (const op of ops) {
+				if (op.type === 'reset') {
+					dataElements.forEach(element => element.remove());
+					dataElements.clear();
+					rows.clear();
+					firstRow = lastRow = null;
+					op.steps.forEach(step => {
+						linkRow(step.uid, null);
+						setStepData(step);
+					});
+				} else if (op.type === 'remove') {
+					dataElements.get(op.uid)?.remove();
+					dataElements.delete(op.uid);
+					unlinkRow(op.uid);
+				} else if (op.type === 'insert') {
+					unlinkRow(op.step.uid);
+					linkRow(op.step.uid, op.before);
+					setStepData(op.step);
+				} else if (op.type === 'update') {
+					setStepData(op.step);
+				}
+			}
+			const components = new Map();
+			for (const child of gantt.children) {
+				if (child.localName === 'gantt-step-element' && dataElements.get(child.uid) !== child) {
+					components.set(child.uid, child);
+				}
+			}
+			let next = null;
+			for (let uid = lastRow; uid != null; uid = rows.get(uid).prev) {
+				const element = components.get(uid) || dataElements.get(uid);
+				if (!element) {
+					continue;
+				}
+				if (element.parentNode !== gantt || element.nextElementSibling !== next) {
+					gantt.insertBefore(element, next);
+				}
+				next = element;
+			}
+		};
+
+		/*
+		 * Listens to scrolling and resizing while the element is connected, so that
+		 * a detached chart is not kept alive by the window listener.
+		 */
+		let listening = false;
+		gantt.addController({
+			hostConnected() {
+				// scroll container is rendered first.
+				gantt.updateComplete.then(() => {
+					if (listening || !gantt.isConnected) {
+						return;
+					}
+					listening = true;
+					gantt._container.addEventListener('scroll', scheduleViewportUpdate, { passive: true });
+					window.addEventListener('resize', scheduleViewportUpdate);
+					scheduleViewportUpdate();
+				});
+			},
+			hostDisconnected() {
+				cancelAnimationFrame(frame);
+				frame = 0;
+				if (listening) {
+					listening = false;
+					gantt._container.removeEventListener('scroll', scheduleViewportUpdate);
+					window.removeEventListener('resize', scheduleViewportUpdate);
+				}
+			}
+		});
+	}
+};
+
+window.Vaadin = window.Vaadin || {};
+window.Vaadin.Flow = window.Vaadin.Flow || {};
+window.Vaadin.Flow.ganttConnector = ganttConnector;
@@ -0,0 +1,353 @@
+/*
+ * Tests for gantt-connector.js with a minimal stand-in for the gantt-element.
+ * Run with: node --test src/test/frontend/
+ */
+import { test, beforeEach } from 'node:test';
+import assert from 'node:assert/strict';
+
+let frames;
+let windowListeners;
+
+globalThis.window = globalThis;
+globalThis.addEventListener = (type, listener) => windowListeners.push(listener);
+globalThis.removeEventListener = (type, listener) => {
+	windowListeners = windowListeners.filter(other => other !== listener);
+};
+globalThis.requestAnimationFrame = callback => {
+	frames.push(callback);
+	return frames.length;
+};
+globalThis.cancelAnimationFrame = id => {
+	if (id > 0) {
+		frames[id - 1] = null;
+	}
+};
+globalThis.getComputedStyle = () => ({ marginTop: '0', marginBottom: '0' });
+
+let domMoves;
+
+/**
+ * Element with just the DOM API used by the connector.
+ */
+class FakeElement {
+	constructor(localName) {
+		this.localName = localName;
+		this.children = [];
+		this.parentNode = null;
+		this.attributes = new Map();
+	}
+
+	get nextElementSibling() {
+		const siblings = this.parentNode?.children ?? [];
+		return siblings[siblings.indexOf(this) + 1] ?? null;
+	}
+
+	setAttribute(name, value) {
+		this.attributes.set(name, String(value));
+	}
+
+	removeAttribute(name) {
+		this.attributes.delete(name);
+	}
+
+	getAttribute(name) {
+		return this.attributes.get(name) ?? null;
+	}
+
+	appendChild(child) {
+		return this.insertBefore(child, null);
+	}
+
+	insertBefore(child, reference) {
+		domMoves++;
+		child.remove();
+		this.children.splice(reference ? this.children.indexOf(reference) : this.children.length, 0, child);
+		child.parentNode = this;
+		return child;
+	}
+
+	addController() {
+	}
+
+	remove() {
+		if (this.parentNode) {
+			this.parentNode.children.splice(this.parentNode.children.indexOf(this), 1);
+			this.parentNode = null;
+		}
+	}
+}
+
+globalThis.document = { createElement: localName => new FakeElement(localName) };
+
+await import('../../main/resources/META-INF/resources/frontend/gantt-connector.js');
+const connector = window.Vaadin.Flow.ganttConnector;
+
+const flushFrames = async () => {
+	// lets updateComplete resolve first.
+	await Promise.resolve();
+	const pending = frames;
+	frames = [];
+	pending.filter(Boolean).forEach(callback => callback());
+};
+
+const createGantt = properties => {
+	let listeners = [];
+	const controllers = [];
+	const container = {
+		scrollTop: 0,
+		scrollLeft: 0,
+		clientHeight: 300,
+		clientWidth: 500,
+		scrollWidth: 5000,
+		addEventListener: (type, listener) => listeners.push(listener),
+		removeEventListener: (type, listener) => {
+			listeners = listeners.filter(other => other !== listener);
+		}
+	};
+	const first = { offsetTop: 0 };
+	const second = { offsetTop: 30 };
+	first.nextElementSibling = second;
+	const calls = [];
+	const gantt = {
+		...properties,
+		_container: container,
+		isConnected: true,
+		updateComplete: Promise.resolve(),
+		// like LitElement, calls hostConnected right away when connected.
+		addController: controller => {
+			controllers.push(controller);
+			if (gantt.isConnected) {
+				controller.hostConnected();
+			}
+		},
+		style: { setProperty: () => {} },
+		querySelectorAll: () => [first, second],
+		$server: {
+			updateVisibleRows: (firstRow, rowCount) => calls.push(['rows', firstRow, rowCount]),
+			updateVisibleTimeRange: (from, to) => calls.push(['time', from, to])
+		}
+	};
+	const scroll = async (top, left) => {
+		container.scrollTop = top;
+		container.scrollLeft = left;
+		listeners.forEach(listener => listener());
+		await flushFrames();
+	};
+	const setConnected = connected => {
+		gantt.isConnected = connected;
+		controllers.forEach(controller => connected ? controller.hostConnected() : controller.hostDisconnected());
+	};
+	return { gantt, calls, listeners: () => listeners, scroll, setConnected };
+};
+
+const createDataGantt = () => {
+	const gantt = new FakeElement('gantt-element');
+	// never resolves, so no scroll listener is added.
+	gantt.updateComplete = new Promise(() => {});
+	connector.initLazy(gantt);
+	return gantt;
+};
+
+const step = (uid, properties) => ({ uid, caption: uid, start: '2025-01-01T00:00:00', end: '2025-01-02T00:00:00',
+	...properties });
+
+const uidsOf = gantt => gantt.children.map(child => child.uid);
+
+beforeEach(() => {
+	frames = [];
+	windowListeners = [];
+	domMoves = 0;
+});
+
+test('reports visible rows after scrolling half of the overscan', async () => {
+	const { gantt, calls, scroll } = createGantt({ virtualRows: true, virtualRowsOverscan: 20 });
+	connector.initLazy(gantt);
+	await flushFrames();
+	assert.deepEqual(calls, [['rows', 0, 11]]);
+
+	await scroll(9 * 30, 0);
+	assert.equal(calls.length, 1);
+
+	await scroll(10 * 30, 0);
+	assert.deepEqual(calls, [['rows', 0, 11], ['rows', 10, 11]]);
+});
+
+test('reports visible time range after scrolling half of the visible width', async () => {
+	const { gantt, calls, scroll } = createGantt({ virtualTimeRange: true });
+	connector.initLazy(gantt);
+	await flushFrames();
+	assert.deepEqual(calls, [['time', 0, 0.1]]);
+
+	await scroll(0, 200);
+	assert.equal(calls.length, 1);
+
+	await scroll(0, 250);
+	assert.deepEqual(calls, [['time', 0, 0.1], ['time', 0.05, 0.15]]);
+});
+
+test('reports nothing without virtual rendering, and again after reset', async () => {
+	const { gantt, calls, scroll } = createGantt({ virtualRows: false });
+	connector.initLazy(gantt);
+	await scroll(600, 0);
+	assert.deepEqual(calls, []);
+
+	gantt.virtualRows = true;
+	gantt.$connector.resetViewport();
+	await flushFrames();
+	assert.deepEqual(calls, [['rows', 20, 11]]);
+
+	gantt.$connector.resetViewport();
+	await flushFrames();
+	assert.deepEqual(calls, [['rows', 20, 11], ['rows', 20, 11]]);
+});
+
+test('uses overscan property for the scroll threshold', async () => {
+	const { gantt, calls, scroll } = createGantt({ virtualRows: true, virtualRowsOverscan: 2 });
+	connector.initLazy(gantt);
+	await flushFrames();
+	await scroll(30, 0);
+	assert.deepEqual(calls, [['rows', 0, 11], ['rows', 1, 11]]);
+});
+
+test('initializes only once per element', async () => {
+	const { gantt, listeners } = createGantt({ virtualRows: true });
+	connector.initLazy(gantt);
+	const $connector = gantt.$connector;
+	connector.initLazy(gantt);
+	await flushFrames();
+	assert.equal(gantt.$connector, $connector);
+	assert.equal(listeners().length, 1);
+	assert.equal(windowListeners.length, 1);
+});
+
+test('removes listeners and cancels the frame when disconnected', async () => {
+	const { gantt, calls, listeners, scroll, setConnected } = createGantt({ virtualRows: true });
+	connector.initLazy(gantt);
+	await flushFrames();
+	await scroll(600, 0);
+	assert.deepEqual(calls, [['rows', 0, 11], ['rows', 20, 11]]);
+	gantt.$connector.resetViewport();
+
+	setConnected(false);
+	await flushFrames();
+
+	assert.deepEqual(listeners(), []);
+	assert.deepEqual(windowListeners, []);
+	assert.equal(calls.length, 2);
+
+	setConnected(true);
+	await flushFrames();
+	assert.equal(listeners().length, 1);
+	assert.equal(windowListeners.length, 1);
+	assert.deepEqual(calls.at(-1), ['rows', 20, 11]);
+});
+
+test('disconnect before the first render adds no listeners', async () => {
+	const { gantt, listeners, setConnected } = createGantt({ virtualRows: true });
+	connector.initLazy(gantt);
+	setConnected(false);
+	await flushFrames();
+
+	assert.deepEqual(listeners(), []);
+	assert.deepEqual(windowListeners, []);
+});
+
+test('reset creates step elements in row order', () => {
+	const gantt = createDataGantt();
+	gantt.$connector.applyStepData([{ type: 'reset', steps: [
+		step('a', { backgroundColor: 'red', subSteps: [step('a.0')] }),
+		step('b', { caption: null })
+	] }]);
+
+	assert.deepEqual(uidsOf(gantt), ['a', 'b']);
+	const [a, b] = gantt.children;
+	assert.equal(a.localName, 'gantt-step-element');
+	assert.equal(a.getAttribute('backgroundColor'), 'red');
+	assert.equal(a.getAttribute('start'), '2025-01-01T00:00:00');
+	assert.deepEqual(uidsOf(a), ['a.0']);
+	assert.equal(b.getAttribute('caption'), null);
+
+	gantt.$connector.applyStepData([{ type: 'reset', steps: [step('c')] }]);
+	assert.deepEqual(uidsOf(gantt), ['c']);
+});
+
+test('insert moves an existing row with a single DOM move', () => {
+	const gantt = createDataGantt();
+	gantt.$connector.applyStepData([{ type: 'reset', steps: [step('a'), step('b'), step('c'), step('d')] }]);
+	const elements = [...gantt.children];
+	domMoves = 0;
+
+	gantt.$connector.applyStepData([{ type: 'insert', before: 'a', step: step('d') }]);
+
+	assert.deepEqual(uidsOf(gantt), ['d', 'a', 'b', 'c']);
+	assert.equal(domMoves, 1);
+	assert.deepEqual(gantt.children.slice(1), elements.slice(0, 3));
+});
+
+test('insert without before appends, and remove drops the row', () => {
+	const gantt = createDataGantt();
+	gantt.$connector.applyStepData([{ type: 'reset', steps: [step('a'), step('b')] }]);
+
+	gantt.$connector.applyStepData([
+		{ type: 'remove', uid: 'a' },
+		{ type: 'insert', before: null, step: step('c') }
+	]);
+
+	assert.deepEqual(uidsOf(gantt), ['b', 'c']);
+});
+
+test('update replaces the step element with the new data', () => {
+	const gantt = createDataGantt();
+	gantt.$connector.applyStepData([{ type: 'reset', steps: [step('a'), step('b')] }]);
+
+	gantt.$connector.applyStepData([{ type: 'update', step: step('a', { caption: 'changed' }) }]);
+
+	assert.deepEqual(uidsOf(gantt), ['a', 'b']);
+	assert.equal(gantt.children[0].getAttribute('caption'), 'changed');
+});
+
+test('decorated steps keep their component elements in row order', () => {
+	const gantt = createDataGantt();
+	const component = new FakeElement('gantt-step-element');
+	component.uid = 'b';
+	gantt.appendChild(component);
+
+	gantt.$connector.applyStepData([{ type: 'reset', steps: [step('a'), step('b', { decorated: true }), step('c')] }]);
+
+	assert.deepEqual(uidsOf(gantt), ['a', 'b', 'c']);
+	assert.equal(gantt.children[1], component);
+
+	// server removes the component when the step is not decorated anymore.
+	component.remove();
+	gantt.$connector.applyStepData([{ type: 'update', step: step('b') }]);
+	assert.deepEqual(uidsOf(gantt), ['a', 'b', 'c']);
+	assert.notEqual(gantt.children[1], component);
+});
+
+test('random inserts and removes keep the row order of a plain list', () => {
+	const gantt = createDataGantt();
+	let expected = [];
+	let seed = 7;
+	const random = bound => {
+		seed = (seed * 1103515245 + 12345) % 2147483648;
+		return seed % bound;
+	};
+	for (let batch = 0; batch < 50; batch++) {
+		const ops = [];
+		for (let index = 0; index < 40; index++) {
+			const uid = 's' + random(60);
+			if (random(4) === 0) {
+				ops.push({ type: 'remove', uid });
+				expected = expected.filter(other => other !== uid);
+			} else {
+				const before = random(5) === 0 ? null : 's' + random(60);
+				ops.push({ type: 'insert', before, step: step(uid) });
+				expected = expected.filter(other => other !== uid);
+				const beforeIndex = expected.indexOf(before);
+				expected.splice(beforeIndex < 0 ? expected.length : beforeIndex, 0, uid);
+			}
+		}
+		gantt.$connector.applyStepData(ops);
+		assert.deepEqual(uidsOf(gantt), expected);
+	}
+});
@@ -0,0 +1,152 @@
+/*
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+
+package org.vaadin.tltv.gantt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.vaadin.tltv.gantt.element.StepElement;
+import org.vaadin.tltv.gantt.event.GanttDataChangeEvent;
+import org.vaadin.tltv.gantt.model.Step;
+import org.vaadin.tltv.gantt.model.SubStep;
+
+import com.vaadin.flow.component.UI;
+
+class AddStepTest {
+
+	@AfterEach
+	void clearCurrentUI() {
+		UI.setCurrent(null);
+	}
+
+	@Test
+	void addStep_duplicateUid_throwsWithoutChangingIndexes() {
+		MockUI ui = new MockUI();
+		Gantt gantt = Steps.newGantt();
+		ui.add(gantt);
+		List<Step> steps = Steps.newSteps(3);
+		gantt.addSteps(steps);
+		List<GanttDataChangeEvent> events = new ArrayList<>();
+		gantt.addDataChangeListener(events::add);
+		Step duplicate = Steps.newStep(1);
+
+		assertThrows(IllegalArgumentException.class, () -> gantt.addStep(duplicate));
+
+		assertSame(steps.get(1), gantt.getStep("s1"));
+		assertSame(steps.get(1), gantt.getStepElement("s1").getModel());
+		assertEquals(List.of("s0", "s1", "s2"), Steps.uids(gantt));
+		assertEquals(List.of(), events);
+		gantt.checkIndexConsistency();
+	}
+
+	@Test
+	void addStep_uidOfSubStep_throws() {
+		MockUI ui = new MockUI();
+		Gantt gantt = Steps.newGantt();
+		ui.add(gantt);
+		Step owner = Steps.newStep(0);
+		gantt.addStep(owner);
+		SubStep subStep = Steps.newSubStep(owner, 0);
+		gantt.addSubStep(subStep);
+		Step step = Steps.newStep(1);
+		step.setUid(subStep.getUid());
+
+		assertThrows(IllegalArgumentException.class, () -> gantt.addStep(step));
+
+		assertSame(subStep, gantt.getSubStep(subStep.getUid()));
+		gantt.checkIndexConsistency();
+	}
+
+	@Test
+	void addStepAtIndex_existingUid_movesStep() {
+		MockUI ui = new MockUI();
+		Gantt gantt = Steps.newGantt();
+		ui.add(gantt);
+		List<Step> steps = Steps.newSteps(3);
+		gantt.addSteps(steps);
+
+		gantt.addStep(0, steps.get(2));
+
+		assertEquals(List.of("s2", "s0", "s1"), Steps.uids(gantt));
+		gantt.checkIndexConsistency();
+	}
+
+	@Test
+	void addSteps_existingUidIsMovedAndRepeatedUidIgnored() {
+		MockUI ui = new MockUI();
+		Gantt gantt = Steps.newGantt();
+		ui.add(gantt);
+		gantt.addSteps(Steps.newSteps(2));
+		List<GanttDataChangeEvent> events = new ArrayList<>();
+		gantt.addDataChangeListener(events::add);
+
+		gantt.addSteps(1, List.of(Steps.newStep(0), Steps.newStep(5), Steps.newStep(5)));
+
+		assertEquals(List.of("s0", "s5", "s1"), Steps.uids(gantt));
+		assertEquals(1, events.size());
+		assertEquals(List.of("s5"), events.get(0).getSteps().map(Step::getUid).toList());
+		gantt.checkIndexConsistency();
+	}
+
+	@Test
+	void addSteps_existingSteps_areMovedIntoBlockInGivenOrder() {
+		MockUI ui = new MockUI();
+		Gantt gantt = Steps.newGantt();
+		ui.add(gantt);
+		List<Step> steps = Steps.newSteps(5);
+		gantt.addSteps(steps);
+		StepElement movedElement = gantt.getStepElement("s3");
+
+		gantt.addSteps(1, List.of(steps.get(3), Steps.newStep(9), steps.get(0)));
+
+		assertEquals(List.of("s3", "s9", "s0", "s1", "s2", "s4"), Steps.uids(gantt));
+		assertSame(movedElement, gantt.getStepElement("s3"));
+		assertEquals(movedElement.getElement(), gantt.getElement().getChild(0));
+		gantt.checkIndexConsistency();
+	}
+
+	@Test
+	void addSteps_nullInBatch_throwsWithoutChangingIndexes() {
+		MockUI ui = new MockUI();
+		Gantt gantt = Steps.newGantt();
+		ui.add(gantt);
+		gantt.addSteps(Steps.newSteps(3));
+		List<GanttDataChangeEvent> events = new ArrayList<>();
+		gantt.addDataChangeListener(events::add);
+
+		assertThrows(NullPointerException.class,
+				() -> gantt.addSteps(1, Arrays.asList(Steps.newStep(5), null, Steps.newStep(6))));
+
+		assertEquals(List.of("s0", "s1", "s2"), Steps.uids(gantt));
+		assertNull(gantt.getStep("s5"));
+		assertEquals(List.of(), events);
+		gantt.checkIndexConsistency();
+	}
+}
@@ -0,0 +1,111 @@
+/*
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+
+
+package org.vaadin.tltv.gantt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.vaadin.tltv.gantt.event.StepMoveEvent;
+import org.vaadin.tltv.gantt.model.Step;
+import org.vaadin.tltv.gantt.util.GanttUtil;
+
+import com.vaadin.flow.component.ComponentUtil;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.grid.Grid;
+import com.vaadin.flow.data.provider.DataChangeEvent;
+import com.vaadin.flow.data.provider.DataChangeEvent.DataRefreshEvent;
+import com.vaadin.flow.data.provider.DataProvider;
+import com.vaadin.flow.data.provider.Query;
+
+class CaptionGridTest {
+
+	@AfterEach
+	void clearCurrentUI() {
+		UI.setCurrent(null);
+	}
+
+	@Test
+	void pages_areReadFromRowsWithExactCount() {
+		MockUI ui = new MockUI();
+		Gantt gantt = Steps.newGantt();
+		ui.add(gantt);
+		gantt.addSteps(Steps.newSteps(1000));
+		Grid<Step> grid = gantt.buildCaptionGrid("Steps");
+		ui.add(grid);
+		DataProvider<Step, ?> dataProvider = grid.getDataProvider();
+
+		assertEquals(1000, dataProvider.size(new Query<>()));
+		assertEquals(Steps.uids(gantt).subList(400, 450), fetch(dataProvider, 400, 50));
+		assertEquals(List.of("s998", "s999"), fetch(dataProvider, 998, 50));
+
+		gantt.moveStep(400, gantt.getStep("s999"));
+		gantt.removeStep(gantt.getStep("s0"));
+
+		assertEquals(999, dataProvider.size(new Query<>()));
+		assertEquals(List.of("s399", "s999", "s400"), fetch(dataProvider, 398, 3));
+	}
+
+	@Test
+	void captionChange_refreshesOnlyItsItem() {
+		MockUI ui = new MockUI();
+		Gantt gantt = Steps.newGantt();
+		ui.add(gantt);
+		List<Step> steps = Steps.newSteps(100);
+		gantt.addSteps(steps);
+		Grid<Step> grid = gantt.buildCaptionGrid("Steps");
+		ui.add(grid);
+		ui.roundTrip();
+		List<DataChangeEvent<Step>> events = new ArrayList<>();
+		grid.getDataProvider().addDataProviderListener(events::add);
+
+		steps.get(50).setCaption("Changed");
+		steps.get(50).setCaption("Changed again");
+		// date changes don't change the caption grid.
+		steps.get(60).setEndDate(steps.get(60).getEndDate().plusDays(1));
+		ui.roundTrip();
+
+		assertEquals(1, events.size());
+		assertSame(steps.get(50), assertInstanceOf(DataRefreshEvent.class, events.get(0)).getItem());
+
+		ComponentUtil.fireEvent(gantt, new StepMoveEvent(gantt, true, "s99", "s0",
+				GanttUtil.formatDateTime(steps.get(99).getStartDate()),
+				GanttUtil.formatDateTime(steps.get(99).getEndDate())));
+		// order change by the user resets the grid.
+		assertEquals("s99", gantt.getStep(0).getUid());
+		assertEquals(2, events.size());
+		assertEquals(DataChangeEvent.class, events.get(1).getClass());
+	}
+
+	private static List<String> fetch(DataProvider<Step, ?> dataProvider, int offset, int limit) {
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		List<Step> steps = ((DataProvider) dataProvider).fetch(new Query<>(offset, limit, List.of(), null, null))
+				.toList();
+		return steps.stream().map(Step::getUid).toList();
+	}
+}
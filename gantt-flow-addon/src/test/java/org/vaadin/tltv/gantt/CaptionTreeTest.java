@@ -0,0 +1,213 @@
+/*
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+
+
+
+package org.vaadin.tltv.gantt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.vaadin.tltv.gantt.element.StepElement;
+import org.vaadin.tltv.gantt.event.StepMoveEvent;
+import org.vaadin.tltv.gantt.model.Step;
+import org.vaadin.tltv.gantt.util.GanttUtil;
+
+import com.vaadin.flow.component.ComponentUtil;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.treegrid.TreeGrid;
+import com.vaadin.flow.internal.StateNode;
+
+class CaptionTreeTest {
+
+	@AfterEach
+	void clearCurrentUI() {
+		UI.setCurrent(null);
+	}
+
+	@Test
+	void clientMove_expandedStep_movesSubTreeAsOneBlock() {
+		MockUI ui = new MockUI();
+		Gantt gantt = Steps.newGantt();
+		ui.add(gantt);
+		List<Step> steps = Steps.newSteps(100);
+		gantt.addSteps(steps);
+		TreeGrid<Step> grid = newCaptionTree(ui, gantt);
+		grid.expand(steps.get(2));
+		grid.expand(gantt.getStep("s110"));
+		assertEquals(List.of("s0", "s1", "s2", "s110", "s112", "s111", "s3"), Steps.uids(gantt).subList(0, 7));
+		ui.roundTrip();
+		int nodeCount = ui.getNodeCount();
+		StepElement childElement = gantt.getStepElement("s110");
+
+		moveFromClient(gantt, steps.get(2), "s6");
+
+		assertEquals(List.of("s0", "s1", "s3", "s4", "s5", "s6", "s2", "s110", "s112", "s111", "s7"),
+				Steps.uids(gantt).subList(0, 11));
+		assertEquals(List.of("s0", "s1", "s3", "s4", "s5", "s6", "s2", "s7"),
+				grid.getTreeData().getRootItems().subList(0, 8).stream().map(Step::getUid).toList());
+		assertSame(childElement, gantt.getStepElement("s110"));
+		gantt.checkIndexConsistency();
+		// moved row and its sub tree rows are removed and inserted, other rows are not sent.
+		assertEquals(8, ui.roundTrip(gantt.getElement().getNode()));
+		assertEquals(nodeCount, ui.getNodeCount());
+	}
+
+	@Test
+	void clientMove_ontoOwnDescendant_keepsRowsAndTree() {
+		MockUI ui = new MockUI();
+		Gantt gantt = Steps.newGantt();
+		ui.add(gantt);
+		List<Step> steps = Steps.newSteps(10);
+		gantt.addSteps(steps);
+		TreeGrid<Step> grid = newCaptionTree(ui, gantt);
+		grid.expand(steps.get(2));
+		grid.expand(gantt.getStep("s110"));
+		List<String> rows = Steps.uids(gantt);
+
+		moveFromClient(gantt, steps.get(2), "s112");
+
+		assertEquals(rows, Steps.uids(gantt));
+		assertNull(grid.getTreeData().getParent(steps.get(2)));
+		assertEquals(steps.get(2), grid.getTreeData().getParent(gantt.getStep("s110")));
+		gantt.checkIndexConsistency();
+	}
+
+	@Test
+	void expandAndCollapse_sendOnlyTheSubTreeRows() {
+		MockUI ui = new MockUI();
+		Gantt gantt = Steps.newGantt();
+		ui.add(gantt);
+		List<Step> steps = Steps.newSteps(100);
+		gantt.addSteps(steps);
+		TreeGrid<Step> grid = newCaptionTree(ui, gantt);
+		List<String> childUids = new ArrayList<>(List.of("s110", "s111"));
+		for (int index = 0; index < 500; index++) {
+			Step child = Steps.newStep(1000 + index);
+			grid.getTreeData().addItem(steps.get(2), child);
+			childUids.add(child.getUid());
+		}
+		grid.getDataProvider().refreshAll();
+		ui.roundTrip();
+		List<String> rows = Steps.uids(gantt);
+		StateNode ganttNode = gantt.getElement().getNode();
+
+		// children of the collapsed s110 are not added.
+		grid.expand(steps.get(2));
+		assertEquals(childUids, Steps.uids(gantt).subList(3, 505));
+		assertEquals("s3", gantt.getStep(505).getUid());
+		assertEquals(childUids.size(), ui.roundTrip(ganttNode));
+		gantt.checkIndexConsistency();
+
+		gantt.expand(steps.get(2));
+		assertEquals(List.of("s2", "s110", "s112", "s111"), Steps.uids(gantt).subList(2, 6));
+		gantt.checkIndexConsistency();
+		ui.roundTrip();
+
+		grid.collapse(steps.get(2));
+		assertEquals(rows, Steps.uids(gantt));
+		// most rows are removed, so all are removed at once and the other rows added again.
+		assertEquals(rows.size() + 1, ui.roundTrip(ganttNode));
+		assertNull(gantt.getStepElement("s112"));
+		gantt.checkIndexConsistency();
+	}
+
+	@Test
+	void collapse_largeSubTree_removesAllRowsWithOneChange() {
+		MockUI ui = new MockUI();
+		Gantt gantt = Steps.newGantt();
+		ui.add(gantt);
+		List<Step> steps = Steps.newSteps(100);
+		gantt.addSteps(steps);
+		TreeGrid<Step> grid = newCaptionTree(ui, gantt);
+		for (int index = 0; index < 5000; index++) {
+			grid.getTreeData().addItem(steps.get(50), Steps.newStep(1000 + index));
+		}
+		grid.getDataProvider().refreshAll();
+		grid.expand(steps.get(50));
+		ui.roundTrip();
+		StateNode ganttNode = gantt.getElement().getNode();
+		Set<Integer> rowNodeIds = ui.getNodeIds(node -> node.getParent() == ganttNode);
+		StepElement lastElement = gantt.getStepElement("s99");
+
+		grid.collapse(steps.get(50));
+
+		assertEquals(Steps.newSteps(100).stream().map(Step::getUid).toList(), Steps.uids(gantt));
+		assertSame(lastElement, gantt.getStepElement("s99"));
+		gantt.checkIndexConsistency();
+		// a clear and the remaining 100 rows, instead of a change per removed row.
+		assertEquals(101, ui.roundTrip(ganttNode));
+		assertTrue(rowNodeIds.containsAll(ui.getNodeIds(node -> node.getParent() == ganttNode)));
+	}
+
+	@Test
+	void collapse_smallSubTree_removesOnlyItsRows() {
+		MockUI ui = new MockUI();
+		Gantt gantt = Steps.newGantt();
+		ui.add(gantt);
+		List<Step> steps = Steps.newSteps(100);
+		gantt.addSteps(steps);
+		TreeGrid<Step> grid = newCaptionTree(ui, gantt);
+		grid.expand(steps.get(2));
+		ui.roundTrip();
+
+		grid.collapse(steps.get(2));
+
+		assertEquals(Steps.newSteps(100).stream().map(Step::getUid).toList(), Steps.uids(gantt));
+		gantt.checkIndexConsistency();
+		// one change per removed row, other rows are not touched.
+		assertEquals(2, ui.roundTrip(gantt.getElement().getNode()));
+	}
+
+	/**
+	 * Builds caption tree grid for the given chart with children
+	 * <code>s110</code> and <code>s111</code> for <code>s2</code>, and a child
+	 * <code>s112</code> for <code>s110</code>.
+	 */
+	private static TreeGrid<Step> newCaptionTree(MockUI ui, Gantt gantt) {
+		TreeGrid<Step> grid = gantt.buildCaptionTreeGrid("Steps");
+		ui.add(grid);
+		Step parent = gantt.getStep("s2");
+		Step child = Steps.newStep(110);
+		grid.getTreeData().addItem(parent, child);
+		grid.getTreeData().addItem(parent, Steps.newStep(111));
+		grid.getTreeData().addItem(child, Steps.newStep(112));
+		grid.getDataProvider().refreshAll();
+		return grid;
+	}
+
+	/**
+	 * Moves given step like it was dropped by the user on the row of the given
+	 * UID, keeping its dates.
+	 */
+	private static void moveFromClient(Gantt gantt, Step step, String newUid) {
+		ComponentUtil.fireEvent(gantt, new StepMoveEvent(gantt, true, step.getUid(), newUid,
+				GanttUtil.formatDateTime(step.getStartDate()), GanttUtil.formatDateTime(step.getEndDate())));
+	}
+}
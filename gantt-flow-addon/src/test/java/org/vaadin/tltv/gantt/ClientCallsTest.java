@@ -0,0 +1,101 @@
+/*
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+
+
+package org.vaadin.tltv.gantt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.vaadin.tltv.gantt.model.Resolution;
+
+import com.vaadin.flow.component.UI;
+
+class ClientCallsTest {
+
+	private static final String UPDATE_SIZE = "return $0.updateSize()";
+
+	private static final String HORIZONTAL_SCROLLBAR_REFRESH = "--gantt-caption-grid-header-height";
+
+	@AfterEach
+	void clearCurrentUI() {
+		UI.setCurrent(null);
+	}
+
+	@Test
+	void changesInOneRoundTrip_sendEachCallOnce() {
+		MockUI ui = new MockUI();
+		Gantt gantt = Steps.newGantt();
+		ui.add(gantt);
+		ui.add(gantt.buildCaptionGrid("Steps"));
+		ui.roundTrip();
+
+		gantt.setWidth("500px");
+		gantt.setHeight("300px");
+		gantt.setWidth("600px");
+		gantt.addSteps(Steps.newSteps(10));
+		gantt.setResolution(Resolution.Hour);
+		gantt.removeStep(gantt.getStep("s0"));
+		List<String> calls = ui.roundTripJavaScript();
+
+		assertEquals(1, count(calls, UPDATE_SIZE), calls::toString);
+		assertEquals(1, count(calls, HORIZONTAL_SCROLLBAR_REFRESH), calls::toString);
+	}
+
+	@Test
+	void callsAreScheduledAgainForNextRoundTrip() {
+		MockUI ui = new MockUI();
+		Gantt gantt = Steps.newGantt();
+		ui.add(gantt);
+		ui.add(gantt.buildCaptionGrid("Steps"));
+		ui.roundTrip();
+
+		gantt.setWidth("500px");
+		assertEquals(1, count(ui.roundTripJavaScript(), UPDATE_SIZE));
+		assertEquals(List.of(), ui.roundTripJavaScript());
+
+		gantt.setHeight("300px");
+		gantt.addSteps(Steps.newSteps(2));
+		List<String> calls = ui.roundTripJavaScript();
+		assertEquals(1, count(calls, UPDATE_SIZE), calls::toString);
+		assertEquals(1, count(calls, HORIZONTAL_SCROLLBAR_REFRESH), calls::toString);
+	}
+
+	@Test
+	void detachedChart_sendsCallsOnceWhenAttached() {
+		MockUI ui = new MockUI();
+		Gantt gantt = Steps.newGantt();
+		gantt.setWidth("500px");
+		gantt.setHeight("300px");
+
+		ui.add(gantt);
+		List<String> calls = ui.roundTripJavaScript();
+
+		assertEquals(1, count(calls, UPDATE_SIZE), calls::toString);
+	}
+
+	private static long count(List<String> calls, String text) {
+		return calls.stream().filter(call -> call.contains(text)).count();
+	}
+}
@@ -0,0 +1,164 @@
+/*
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+
+package org.vaadin.tltv.gantt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.vaadin.tltv.gantt.element.StepElement;
+import org.vaadin.tltv.gantt.model.Step;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.data.provider.DataProvider;
+import com.vaadin.flow.dom.Element;
+
+class DataProviderTest {
+
+	@AfterEach
+	void clearCurrentUI() {
+		UI.setCurrent(null);
+	}
+
+	static DataProvider<Step, Void> newDataProvider(List<Step> steps) {
+		return newDataProvider(steps, new ArrayList<>());
+	}
+
+	/**
+	 * Returns a data provider that adds the offset of each fetch to the given list.
+	 */
+	static DataProvider<Step, Void> newDataProvider(List<Step> steps, List<Integer> fetchedOffsets) {
+		return DataProvider.fromCallbacks(query -> {
+			fetchedOffsets.add(query.getOffset());
+			return steps.stream().skip(query.getOffset()).limit(query.getLimit());
+		}, query -> steps.size());
+	}
+
+	/**
+	 * Reports the visible rows like the client does while scrolling.
+	 */
+	static void scrollToRow(Gantt gantt, int firstRow) throws ReflectiveOperationException {
+		Method method = Gantt.class.getDeclaredMethod("updateVisibleRows", int.class, int.class);
+		method.setAccessible(true);
+		method.invoke(gantt, firstRow, 20);
+	}
+
+	@Test
+	void setDataProvider_removesOnlyStepElements() {
+		MockUI ui = new MockUI();
+		Gantt gantt = Steps.newGantt();
+		ui.add(gantt);
+		List<Step> steps = Steps.newSteps(3);
+		gantt.addSteps(steps);
+		gantt.addSubStep(Steps.newSubStep(steps.get(0), 0));
+		StepElement stepElement = gantt.getStepElement("s0");
+		stepElement.addContextMenu((menu, uid) -> menu.addItem(uid));
+		Element other = new Element("span");
+		gantt.getElement().appendChild(other);
+
+		gantt.setDataProvider(newDataProvider(Steps.newSteps(100)));
+
+		assertEquals(gantt.getElement(), other.getParent());
+		assertNull(stepElement.getElement().getParent());
+		assertTrue(stepElement.getContextMenuBuilders().isEmpty());
+		assertNull(steps.get(0).getElement());
+		ui.roundTrip();
+		gantt.checkIndexConsistency();
+		assertEquals(gantt.getElement(), other.getParent());
+	}
+
+	@Test
+	void setVirtualTimeRange_fetchesOnlyRenderedPages() {
+		MockUI ui = new MockUI();
+		Gantt gantt = Steps.newGantt();
+		ui.add(gantt);
+		List<Integer> fetchedOffsets = new ArrayList<>();
+		gantt.setDataProvider(newDataProvider(Steps.newSteps(10000), fetchedOffsets));
+		ui.roundTrip();
+		fetchedOffsets.clear();
+
+		gantt.setVirtualTimeRange(true);
+		ui.roundTrip();
+
+		assertEquals(List.of(), fetchedOffsets);
+		assertTrue(gantt.contains("s0"));
+		assertFalse(gantt.contains("s9999"));
+		gantt.checkIndexConsistency();
+	}
+
+	@Test
+	void getSteps_fetchesPagesWhileConsumed() {
+		MockUI ui = new MockUI();
+		Gantt gantt = Steps.newGantt();
+		ui.add(gantt);
+		List<Integer> fetchedOffsets = new ArrayList<>();
+		gantt.setDataProvider(newDataProvider(Steps.newSteps(10000), fetchedOffsets));
+		ui.roundTrip();
+		fetchedOffsets.clear();
+
+		assertEquals(List.of("s0", "s1"), gantt.getSteps().limit(2).map(Step::getUid).toList());
+		assertEquals(List.of(0), fetchedOffsets);
+		assertSame(gantt.getAnyStep("s0"), gantt.getSteps().findFirst().orElseThrow());
+		assertEquals(10000, gantt.getSteps().count());
+		assertFalse(gantt.contains("s9999"));
+	}
+
+	@Test
+	void scrolling_evictsPagesOutsideRenderedRows() throws ReflectiveOperationException {
+		MockUI ui = new MockUI();
+		Gantt gantt = Steps.newGantt();
+		gantt.setPageSize(50);
+		gantt.setMaxCachedPages(2);
+		ui.add(gantt);
+		List<Integer> fetchedOffsets = new ArrayList<>();
+		gantt.setDataProvider(newDataProvider(Steps.newSteps(10000), fetchedOffsets));
+		scrollToRow(gantt, 0);
+		ui.roundTrip();
+		assertTrue(gantt.contains("s0"));
+
+		for (int row = 1000; row <= 4000; row += 1000) {
+			scrollToRow(gantt, row);
+			ui.roundTrip();
+			assertTrue(gantt.contains("s" + row));
+			gantt.checkIndexConsistency();
+		}
+
+		assertFalse(gantt.contains("s0"));
+		assertFalse(gantt.contains("s1000"));
+		assertEquals(gantt.getStepElement("s4000").getModel(), gantt.getStep(4000));
+
+		fetchedOffsets.clear();
+		scrollToRow(gantt, 0);
+		ui.roundTrip();
+		assertEquals(List.of(0), fetchedOffsets);
+		assertTrue(gantt.contains("s0"));
+		gantt.checkIndexConsistency();
+	}
+}
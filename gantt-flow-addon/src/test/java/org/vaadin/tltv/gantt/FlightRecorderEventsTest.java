@@ -0,0 +1,283 @@
+/*
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+
+package org.vaadin.tltv.gantt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.vaadin.tltv.gantt.event.StepMoveEvent;
+import org.vaadin.tltv.gantt.event.StepResizeEvent;
+import org.vaadin.tltv.gantt.model.Step;
+import org.vaadin.tltv.gantt.util.GanttUtil;
+
+import com.vaadin.flow.component.ComponentUtil;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.treegrid.TreeGrid;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+class FlightRecorderEventsTest {
+
+	@AfterEach
+	void clearCurrentUI() {
+		UI.setCurrent(null);
+	}
+
+	@Test
+	void noRecording_createsNoEvents() {
+		assertNull(FlightRecorderEvents.beginStepMove());
+		assertNull(FlightRecorderEvents.beginBulkAdd());
+		assertNull(FlightRecorderEvents.beginBulkRemove());
+		assertNull(FlightRecorderEvents.beginTreeSync());
+		assertNull(FlightRecorderEvents.beginDataChangeDispatch());
+		assertNull(FlightRecorderEvents.beginRowSync());
+		assertNull(FlightRecorderEvents.beginClientEvent());
+		assertNull(FlightRecorderEvents.beginStepFlush());
+	}
+
+	@Test
+	void timedOperations_recordTheirEvents() throws IOException {
+		MockUI ui = new MockUI();
+		Gantt gantt = Steps.newGantt();
+		ui.add(gantt);
+		List<Step> steps = Steps.newSteps(5);
+
+		List<RecordedEvent> events = record(Set.of("gantt.BulkAdd", "gantt.StepMove", "gantt.BulkRemove"), () -> {
+			gantt.addSteps(steps);
+			gantt.moveStep(0, steps.get(3));
+			// not in the chart, recorded without rows.
+			gantt.moveStep(0, Steps.newStep(5));
+			gantt.removeSteps(steps.subList(1, 3));
+		});
+
+		RecordedEvent bulkAdd = events.get(0);
+		assertEquals("gantt.BulkAdd", bulkAdd.getEventType().getName());
+		assertEquals(0, bulkAdd.getInt("row"));
+		assertEquals(5, bulkAdd.getInt("stepCount"));
+		assertEquals(steps.get(0).getUid(), bulkAdd.getString("firstUid"));
+
+		RecordedEvent move = events.get(1);
+		assertEquals("gantt.StepMove", move.getEventType().getName());
+		assertEquals(steps.get(3).getUid(), move.getString("uid"));
+		assertEquals(3, move.getInt("fromRow"));
+		assertEquals(0, move.getInt("toRow"));
+		assertFalse(move.getBoolean("subStep"));
+		assertFalse(move.getBoolean("fromClient"));
+
+		RecordedEvent missingMove = events.get(2);
+		assertEquals("gantt.StepMove", missingMove.getEventType().getName());
+		assertEquals(0, missingMove.getInt("fromRow"));
+
+		RecordedEvent bulkRemove = events.get(3);
+		assertEquals("gantt.BulkRemove", bulkRemove.getEventType().getName());
+		assertEquals(2, bulkRemove.getInt("stepCount"));
+		assertEquals(steps.get(1).getUid(), bulkRemove.getString("firstUid"));
+		assertEquals(4, events.size());
+	}
+
+	@Test
+	void subStepMove_recordsOwnerRows() throws IOException {
+		MockUI ui = new MockUI();
+		Gantt gantt = Steps.newGantt();
+		ui.add(gantt);
+		List<Step> steps = Steps.newSteps(3);
+		gantt.addSteps(steps);
+		var subStep = Steps.newSubStep(steps.get(0), 0);
+		gantt.addSubStep(subStep);
+
+		List<RecordedEvent> events = record(Set.of("gantt.StepMove"), () -> gantt.moveSubStep(2, subStep));
+
+		assertEquals(1, events.size());
+		assertEquals(subStep.getUid(), events.get(0).getString("uid"));
+		assertTrue(events.get(0).getBoolean("subStep"));
+		assertEquals(0, events.get(0).getInt("fromRow"));
+		assertEquals(2, events.get(0).getInt("toRow"));
+	}
+
+	@Test
+	void captionTree_recordsTreeSyncAndDispatch() throws IOException {
+		MockUI ui = new MockUI();
+		Gantt gantt = Steps.newGantt();
+		ui.add(gantt);
+		gantt.addSteps(Steps.newSteps(3));
+		TreeGrid<Step> grid = gantt.buildCaptionTreeGrid("Steps");
+		ui.add(grid);
+		Step parent = gantt.getStep("s1");
+		grid.getTreeData().addItem(parent, Steps.newStep(10));
+		grid.getTreeData().addItem(parent, Steps.newStep(11));
+
+		List<RecordedEvent> events = record(Set.of("gantt.TreeSync", "gantt.DataChangeDispatch"), () -> {
+			grid.expand(parent);
+			grid.collapse(parent);
+			gantt.addStep(Steps.newStep(20));
+		});
+
+		RecordedEvent expand = events.get(0);
+		assertEquals("gantt.TreeSync", expand.getEventType().getName());
+		assertEquals("EXPAND", expand.getString("operation"));
+		assertEquals(2, expand.getInt("stepCount"));
+		assertEquals("s1", expand.getString("firstUid"));
+
+		RecordedEvent collapse = events.get(1);
+		assertEquals("COLLAPSE", collapse.getString("operation"));
+		assertEquals(2, collapse.getInt("stepCount"));
+
+		RecordedEvent dispatch = events.get(2);
+		assertEquals("gantt.DataChangeDispatch", dispatch.getEventType().getName());
+		assertEquals("STEP_ADD", dispatch.getString("dataEvent"));
+		assertEquals(1, dispatch.getInt("stepCount"));
+		assertEquals("s20", dispatch.getString("firstUid"));
+
+		// caption tree handles the dispatched event inside the dispatch.
+		RecordedEvent treeAdd = events.get(3);
+		assertEquals("gantt.TreeSync", treeAdd.getEventType().getName());
+		assertEquals("STEP_ADD", treeAdd.getString("operation"));
+		assertEquals(1, treeAdd.getInt("stepCount"));
+		assertEquals(4, events.size());
+	}
+
+	@Test
+	void clientEvents_areRecorded() throws IOException {
+		MockUI ui = new MockUI();
+		Gantt gantt = Steps.newGantt();
+		ui.add(gantt);
+		List<Step> steps = Steps.newSteps(3);
+		gantt.addSteps(steps);
+		Step step = steps.get(2);
+
+		List<RecordedEvent> events = record(Set.of("gantt.ClientEvent", "gantt.StepMove"), () -> {
+			ComponentUtil.fireEvent(gantt, new StepMoveEvent(gantt, true, step.getUid(), "s0",
+					GanttUtil.formatDateTime(step.getStartDate()), GanttUtil.formatDateTime(step.getEndDate())));
+			ComponentUtil.fireEvent(gantt, new StepResizeEvent(gantt, true, step.getUid(),
+					GanttUtil.formatDateTime(step.getStartDate()), GanttUtil.formatDateTime(step.getEndDate())));
+		});
+
+		RecordedEvent clientMove = events.get(0);
+		assertEquals("gantt.ClientEvent", clientMove.getEventType().getName());
+		assertEquals("StepMoveEvent", clientMove.getString("eventType"));
+		assertEquals(step.getUid(), clientMove.getString("uid"));
+
+		RecordedEvent move = events.get(1);
+		assertEquals("gantt.StepMove", move.getEventType().getName());
+		assertTrue(move.getBoolean("fromClient"));
+		assertEquals(2, move.getInt("fromRow"));
+		assertEquals(0, move.getInt("toRow"));
+
+		RecordedEvent clientResize = events.get(2);
+		assertEquals("StepResizeEvent", clientResize.getString("eventType"));
+		assertEquals(step.getUid(), clientResize.getString("uid"));
+		assertEquals(3, events.size());
+	}
+
+	@Test
+	void virtualRows_recordRowSync() throws IOException {
+		MockUI ui = new MockUI();
+		Gantt gantt = Steps.newGantt();
+		gantt.setVirtualRows(true);
+		ui.add(gantt);
+		gantt.addSteps(Steps.newSteps(500));
+
+		List<RecordedEvent> events = record(Set.of("gantt.RowSync"), ui::roundTrip);
+
+		assertEquals(1, events.size());
+		assertFalse(events.get(0).getBoolean("dataMode"));
+		assertEquals(500, events.get(0).getInt("stepCount"));
+		assertEquals(gantt.getStepElementCount(), events.get(0).getInt("renderedCount"));
+		assertTrue(gantt.getStepElementCount() < 500);
+	}
+
+	@Test
+	void changedSteps_recordStepFlush() throws IOException {
+		MockUI ui = new MockUI();
+		Gantt gantt = Steps.newGantt();
+		ui.add(gantt);
+		List<Step> steps = Steps.newSteps(3);
+		gantt.addSteps(steps);
+		ui.roundTrip();
+
+		List<RecordedEvent> events = record(Set.of("gantt.StepFlush"), () -> {
+			steps.get(1).setCaption("Changed");
+			steps.get(2).setCaption("Changed");
+			ui.roundTrip();
+			// nothing changed, nothing recorded.
+			ui.roundTrip();
+		});
+
+		assertEquals(1, events.size());
+		assertEquals(2, events.get(0).getInt("stepCount"));
+		assertEquals("s1", events.get(0).getString("firstUid"));
+	}
+
+	@Test
+	void movedStep_recordsStepRefresh() throws IOException {
+		MockUI ui = new MockUI();
+		Gantt gantt = Steps.newGantt();
+		ui.add(gantt);
+		List<Step> steps = Steps.newSteps(3);
+		gantt.addSteps(steps);
+		ui.roundTrip();
+
+		List<RecordedEvent> events = record(Set.of("gantt.StepRefresh"), () -> {
+			steps.get(1).setCaption("Changed");
+			// moved element is refreshed right away, including the pending caption.
+			gantt.moveStep(0, steps.get(1));
+		});
+
+		assertEquals(1, events.size());
+		assertEquals("s1", events.get(0).getString("uid"));
+		assertFalse(events.get(0).getBoolean("subStep"));
+		assertEquals(1, events.get(0).getInt("writtenAttributes"));
+	}
+
+	/**
+	 * Runs the given action while recording the given events, and returns them in
+	 * their start order.
+	 */
+	private static List<RecordedEvent> record(Set<String> eventNames, Runnable action) throws IOException {
+		Path file = Files.createTempFile("gantt", ".jfr");
+		try (Recording recording = new Recording()) {
+			eventNames.forEach(name -> recording.enable(name).withoutThreshold());
+			recording.start();
+			action.run();
+			recording.stop();
+			recording.dump(file);
+			return RecordingFile.readAllEvents(file).stream()
+					.filter(event -> eventNames.contains(event.getEventType().getName()))
+					.sorted(Comparator.comparing(RecordedEvent::getStartTime)).toList();
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+}
@@ -0,0 +1,149 @@
+/*
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+
+package org.vaadin.tltv.gantt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.vaadin.tltv.gantt.model.GanttStep;
+import org.vaadin.tltv.gantt.model.Step;
+import org.vaadin.tltv.gantt.model.SubStep;
+
+import com.vaadin.flow.component.UI;
+
+class IndexConsistencyTest {
+
+	enum Mode {
+		COMPONENTS(gantt -> {
+		}), VIRTUAL_ROWS(gantt -> gantt.setVirtualRows(true)), VIRTUAL_TIME_RANGE(
+				gantt -> gantt.setVirtualTimeRange(true)), DATA_MODE(gantt -> gantt.setDataMode(true));
+
+		private final Consumer<Gantt> setup;
+
+		Mode(Consumer<Gantt> setup) {
+			this.setup = setup;
+		}
+	}
+
+	@AfterEach
+	void clearCurrentUI() {
+		UI.setCurrent(null);
+	}
+
+	@ParameterizedTest
+	@EnumSource(Mode.class)
+	void mixedOperations_indexesStayConsistent(Mode mode) {
+		MockUI ui = new MockUI();
+		Gantt gantt = Steps.newGantt();
+		mode.setup.accept(gantt);
+		ui.add(gantt);
+		Random random = new Random(1);
+		List<Step> steps = new ArrayList<>(Steps.newSteps(20));
+		List<SubStep> subSteps = new ArrayList<>();
+		int nextIndex = steps.size();
+		gantt.addSteps(steps);
+		gantt.checkIndexConsistency();
+
+		for (int operation = 0; operation < 500; operation++) {
+			switch (random.nextInt(8)) {
+			case 0 -> {
+				Step step = Steps.newStep(nextIndex++);
+				gantt.addStep(random.nextInt(steps.size() + 1), step);
+				steps.add(step);
+			}
+			case 1 -> {
+				List<Step> added = List.of(Steps.newStep(nextIndex++), Steps.newStep(nextIndex++));
+				gantt.addSteps(random.nextInt(steps.size() + 1), added);
+				steps.addAll(added);
+			}
+			case 2 -> gantt.moveStep(random.nextInt(steps.size()), steps.get(random.nextInt(steps.size())));
+			case 3 -> {
+				SubStep subStep = Steps.newSubStep(steps.get(random.nextInt(steps.size())), nextIndex++);
+				gantt.addSubStep(subStep);
+				subSteps.add(subStep);
+			}
+			case 4 -> {
+				if (!subSteps.isEmpty()) {
+					gantt.moveSubStep(random.nextInt(steps.size()), subSteps.get(random.nextInt(subSteps.size())));
+				}
+			}
+			case 5 -> {
+				if (steps.size() > 5) {
+					Step step = steps.remove(random.nextInt(steps.size()));
+					gantt.removeStep(step);
+					subSteps.removeIf(subStep -> subStep.getOwner() == step);
+				}
+			}
+			case 6 -> {
+				if (!subSteps.isEmpty()) {
+					gantt.removeAnyStep(subSteps.remove(random.nextInt(subSteps.size())));
+				}
+			}
+			default -> {
+				if (steps.size() > 5) {
+					List<GanttStep> removed = new ArrayList<>();
+					removed.add(steps.remove(random.nextInt(steps.size())));
+					if (!subSteps.isEmpty()) {
+						removed.add(subSteps.remove(random.nextInt(subSteps.size())));
+					}
+					gantt.removeAnySteps(removed);
+					subSteps.removeIf(subStep -> removed.contains(subStep.getOwner()));
+				}
+			}
+			}
+			if (random.nextBoolean()) {
+				ui.roundTrip();
+			}
+			gantt.checkIndexConsistency();
+		}
+		ui.roundTrip();
+		gantt.checkIndexConsistency();
+		assertEquals(steps.size(), gantt.getSteps().count());
+		assertEquals(subSteps.size(), steps.stream().mapToLong(step -> gantt.getSubSteps(step.getUid()).count()).sum());
+		if (mode == Mode.COMPONENTS) {
+			assertEquals(subSteps.size(), gantt.getSubStepElementCount());
+		}
+	}
+
+	@Test
+	void changedUid_isReported() {
+		MockUI ui = new MockUI();
+		Gantt gantt = Steps.newGantt();
+		ui.add(gantt);
+		List<Step> steps = Steps.newSteps(3);
+		gantt.addSteps(steps);
+		gantt.checkIndexConsistency();
+
+		steps.get(1).setUid("changed");
+
+		assertThrows(IllegalStateException.class, gantt::checkIndexConsistency);
+	}
+}
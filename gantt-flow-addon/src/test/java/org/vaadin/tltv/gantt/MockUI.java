@@ -0,0 +1,200 @@
+/*
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+
+package org.vaadin.tltv.gantt;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.function.DeploymentConfiguration;
+import com.vaadin.flow.internal.StateNode;
+import com.vaadin.flow.internal.StateTree;
+import com.vaadin.flow.server.DependencyFilter;
+import com.vaadin.flow.server.VaadinServletService;
+import com.vaadin.flow.server.VaadinSession;
+import com.vaadin.flow.server.communication.UidlWriter;
+
+import tools.jackson.databind.node.ObjectNode;
+
+/**
+ * {@link UI} with a session that is always locked and has a production mode
+ * configuration, so that components can be attached and the state tree changes
+ * collected, or written as UIDL responses, without a servlet container or a
+ * browser. Shared with the benchmarks through the test jar.
+ */
+public final class MockUI extends UI {
+
+	private static final DeploymentConfiguration CONFIGURATION = (DeploymentConfiguration) Proxy.newProxyInstance(
+			MockUI.class.getClassLoader(), new Class<?>[] { DeploymentConfiguration.class },
+			(proxy, method, args) -> {
+				if (method.getName().equals("isProductionMode")) {
+					return true;
+				}
+				if (method.isDefault()) {
+					return InvocationHandler.invokeDefault(proxy, method, args);
+				}
+				Class<?> type = method.getReturnType();
+				if (type == boolean.class) {
+					return false;
+				}
+				if (type == int.class) {
+					return 0;
+				}
+				if (type == long.class) {
+					return 0L;
+				}
+				return null;
+			});
+
+	private static final class MockService extends VaadinServletService {
+
+		@Override
+		public DeploymentConfiguration getDeploymentConfiguration() {
+			return CONFIGURATION;
+		}
+
+		@Override
+		public Iterable<DependencyFilter> getDependencyFilters() {
+			return List.of();
+		}
+
+		@Override
+		public void runPendingAccessTasks(VaadinSession session) {
+		}
+	}
+
+	private static final class MockSession extends VaadinSession {
+
+		private MockSession() {
+			super(new MockService());
+		}
+
+		@Override
+		public boolean hasLock() {
+			return true;
+		}
+
+		@Override
+		public void checkHasLock() {
+		}
+
+		@Override
+		public void checkHasLock(String message) {
+		}
+
+		@Override
+		public DeploymentConfiguration getConfiguration() {
+			return CONFIGURATION;
+		}
+	}
+
+	public MockUI() {
+		getInternals().setSession(new MockSession());
+		UI.setCurrent(this);
+	}
+
+	/**
+	 * Does the server side part of a round trip: runs the tasks scheduled before
+	 * the client response and collects the state tree changes and the pending
+	 * JavaScript invocations like they were sent to the client.
+	 *
+	 * @return number of collected changes and invocations
+	 */
+	public int roundTrip() {
+		StateTree stateTree = getInternals().getStateTree();
+		stateTree.runExecutionsBeforeClientResponse();
+		int[] changes = { 0 };
+		stateTree.collectChanges(change -> changes[0]++);
+		return changes[0] + getInternals().dumpPendingJavaScriptInvocations().size();
+	}
+
+	/**
+	 * Does the server side part of a round trip like {@link #roundTrip()}, and
+	 * returns number of the collected changes of the given node.
+	 */
+	int roundTrip(StateNode node) {
+		StateTree stateTree = getInternals().getStateTree();
+		stateTree.runExecutionsBeforeClientResponse();
+		int[] changes = { 0 };
+		stateTree.collectChanges(change -> {
+			if (change.getNode() == node) {
+				changes[0]++;
+			}
+		});
+		getInternals().dumpPendingJavaScriptInvocations();
+		return changes[0];
+	}
+
+	/**
+	 * Does the server side part of a round trip like {@link #roundTrip()}, and
+	 * returns the expressions of the pending JavaScript invocations.
+	 */
+	List<String> roundTripJavaScript() {
+		StateTree stateTree = getInternals().getStateTree();
+		stateTree.runExecutionsBeforeClientResponse();
+		stateTree.collectChanges(change -> {
+		});
+		return getInternals().dumpPendingJavaScriptInvocations().stream()
+				.map(invocation -> invocation.getInvocation().getExpression()).toList();
+	}
+
+	/**
+	 * Writes the UIDL response of the current round trip like it was sent to
+	 * the client.
+	 */
+	ObjectNode respond() {
+		return new UidlWriter().createUidl(this, false);
+	}
+
+	/**
+	 * Returns number of state nodes attached to this UI.
+	 */
+	int getNodeCount() {
+		return getNodeIds().size();
+	}
+
+	/**
+	 * Returns ids of the state nodes attached to this UI. A node that is
+	 * replaced by a new one gets a new id.
+	 */
+	Set<Integer> getNodeIds() {
+		return getNodeIds(node -> true);
+	}
+
+	/**
+	 * Returns ids of the state nodes attached to this UI that match the given
+	 * filter.
+	 */
+	Set<Integer> getNodeIds(Predicate<StateNode> filter) {
+		Set<Integer> ids = new HashSet<>();
+		getInternals().getStateTree().getRootNode().visitNodeTree(node -> {
+			if (filter.test(node)) {
+				ids.add(node.getId());
+			}
+		});
+		return ids;
+	}
+}
@@ -0,0 +1,178 @@
+/*
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+
+
+package org.vaadin.tltv.gantt;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.vaadin.tltv.gantt.model.Step;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.treegrid.TreeGrid;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.node.ObjectNode;
+
+/**
+ * Checks that the UIDL responses of common chart operations stay within their
+ * budgets of state node changes, JavaScript invocations of the chart and
+ * payload bytes. Every operation is run on charts of different sizes against
+ * the same budget, so an operation whose response grows with the number of
+ * steps exceeds it too.
+ */
+class PayloadBudgetTest {
+
+	private static final int[] SIZES = { 1000, 10000 };
+
+	/**
+	 * Prepares the given chart of <code>size</code> steps and returns the
+	 * operation to check.
+	 */
+	private interface Operation {
+		Runnable prepare(MockUI ui, Gantt gantt, int size);
+	}
+
+	private record Budget(String name, int changes, int invocations, int bytes, Operation operation) {
+	}
+
+	private static final List<Budget> BUDGETS = List.of(
+			new Budget("addStep", 10, 0, 800, (ui, gantt, size) -> () -> gantt.addStep(size / 2, Steps.newStep(size))),
+			new Budget("moveStep", 2, 0, 250, (ui, gantt, size) -> () -> gantt.moveStep(0, gantt.getStep(size / 2))),
+			new Budget("moveStepDates", 2, 0, 250, (ui, gantt, size) -> {
+				Step step = gantt.getStep(size / 2);
+				return () -> {
+					step.setStartDate(step.getStartDate().plusDays(1));
+					step.setEndDate(step.getEndDate().plusDays(1));
+				};
+			}),
+			new Budget("resizeStep", 1, 0, 150, (ui, gantt, size) -> {
+				Step step = gantt.getStep(size / 2);
+				return () -> step.setEndDate(step.getEndDate().plusDays(1));
+			}),
+			new Budget("changeCaption", 1, 0, 150, (ui, gantt, size) -> {
+				Step step = gantt.getStep(size / 2);
+				return () -> step.setCaption("Changed");
+			}),
+			new Budget("refreshUnchanged", 0, 0, 50, (ui, gantt, size) -> {
+				Step step = gantt.getStep(size / 2);
+				return () -> gantt.refresh(step.getUid());
+			}),
+			new Budget("addStepsWithCaptionGrid", 30, 1, 7000, (ui, gantt, size) -> {
+				ui.add(gantt.buildCaptionGrid("Steps"));
+				return () -> {
+					for (int index = 0; index < 3; index++) {
+						gantt.addStep(size / 2, Steps.newStep(size + index));
+					}
+				};
+			}),
+			new Budget("expand", 100, 1, 16000, (ui, gantt, size) -> {
+				TreeGrid<Step> grid = newCaptionTree(ui, gantt, size);
+				Step root = gantt.getStep(size / 2);
+				return () -> grid.expand(root);
+			}),
+			new Budget("collapse", 25, 1, 10000, (ui, gantt, size) -> {
+				TreeGrid<Step> grid = newCaptionTree(ui, gantt, size);
+				Step root = gantt.getStep(size / 2);
+				grid.expand(root);
+				return () -> grid.collapse(root);
+			}));
+
+	static Stream<Arguments> budgets() {
+		return BUDGETS.stream().flatMap(budget -> IntStream.of(SIZES)
+				.mapToObj(size -> Arguments.argumentSet(budget.name() + " with " + size + " steps", budget, size)));
+	}
+
+	@AfterEach
+	void clearCurrentUI() {
+		UI.setCurrent(null);
+	}
+
+	@ParameterizedTest
+	@MethodSource("budgets")
+	void response_staysWithinBudget(Budget budget, int size) {
+		MockUI ui = new MockUI();
+		Gantt gantt = Steps.newGantt();
+		ui.add(gantt);
+		gantt.addSteps(Steps.newSteps(size));
+		Runnable operation = budget.operation().prepare(ui, gantt, size);
+		ui.respond();
+
+		operation.run();
+		ObjectNode response = ui.respond();
+		int invocations = countInvocations(response, gantt);
+		int changes = response.has("changes") ? response.get("changes").size() : 0;
+		int bytes = response.toString().getBytes(StandardCharsets.UTF_8).length;
+
+		assertAll(
+				() -> assertTrue(changes <= budget.changes(),
+						changes + " changes, budget " + budget.changes()),
+				() -> assertTrue(invocations <= budget.invocations(),
+						invocations + " invocations, budget " + budget.invocations()),
+				() -> assertTrue(bytes <= budget.bytes(), bytes + " bytes, budget " + budget.bytes()));
+	}
+
+	/**
+	 * Builds caption tree grid for the given chart with ten children for the
+	 * step in the middle.
+	 */
+	private static TreeGrid<Step> newCaptionTree(MockUI ui, Gantt gantt, int size) {
+		TreeGrid<Step> grid = gantt.buildCaptionTreeGrid("Steps");
+		ui.add(grid);
+		Step root = gantt.getStep(size / 2);
+		for (int index = 0; index < 10; index++) {
+			grid.getTreeData().addItem(root, Steps.newStep(size + index));
+		}
+		grid.getDataProvider().refreshAll();
+		return grid;
+	}
+
+	/**
+	 * Returns number of JavaScript invocations of the given chart in the given
+	 * response. Invocations of the caption grids are not counted, as the grid
+	 * decides how many rows it sends.
+	 */
+	private static int countInvocations(ObjectNode response, Gantt gantt) {
+		if (!response.has("execute")) {
+			return 0;
+		}
+		int owner = gantt.getElement().getNode().getId();
+		int count = 0;
+		for (JsonNode invocation : response.get("execute")) {
+			// owner is the last parameter, followed by the expression.
+			JsonNode ownerParameter = invocation.get(invocation.size() - 2);
+			if (ownerParameter.path("@v-node").asInt(-1) == owner) {
+				count++;
+			}
+		}
+		return count;
+	}
+}
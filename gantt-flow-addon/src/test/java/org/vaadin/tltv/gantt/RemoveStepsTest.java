@@ -0,0 +1,104 @@
+/*
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+
+
+package org.vaadin.tltv.gantt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.vaadin.tltv.gantt.event.GanttDataChangeEvent;
+import org.vaadin.tltv.gantt.event.GanttDataChangeEvent.DataEvent;
+import org.vaadin.tltv.gantt.model.Step;
+import org.vaadin.tltv.gantt.model.SubStep;
+
+import com.vaadin.flow.component.UI;
+
+class RemoveStepsTest {
+
+	@AfterEach
+	void clearCurrentUI() {
+		UI.setCurrent(null);
+	}
+
+	@Test
+	void removeSteps_firesSingleEventWithAllRemovedSteps() {
+		MockUI ui = new MockUI();
+		Gantt gantt = Steps.newGantt();
+		ui.add(gantt);
+		List<Step> steps = Steps.newSteps(10);
+		gantt.addSteps(steps);
+		List<GanttDataChangeEvent> events = new ArrayList<>();
+		gantt.addDataChangeListener(events::add);
+
+		// a missing step is ignored.
+		gantt.removeSteps(steps.get(7), steps.get(1), Steps.newStep(20), steps.get(4));
+
+		assertEquals(List.of("s0", "s2", "s3", "s5", "s6", "s8", "s9"), Steps.uids(gantt));
+		assertEquals(1, events.size());
+		assertEquals(DataEvent.STEP_REMOVE, events.get(0).getDataEvent());
+		assertEquals(List.of("s7", "s1", "s4"), events.get(0).getSteps().map(Step::getUid).toList());
+		assertEquals(7, gantt.getElement().getChildCount());
+		gantt.checkIndexConsistency();
+	}
+
+	@Test
+	void removeAnySteps_withSubSteps_firesEventOnlyForSteps() {
+		MockUI ui = new MockUI();
+		Gantt gantt = Steps.newGantt();
+		ui.add(gantt);
+		List<Step> steps = Steps.newSteps(3);
+		gantt.addSteps(steps);
+		SubStep subStep = Steps.newSubStep(steps.get(0), 0);
+		gantt.addSubStep(subStep);
+		gantt.addSubStep(Steps.newSubStep(steps.get(0), 1));
+		List<GanttDataChangeEvent> events = new ArrayList<>();
+		gantt.addDataChangeListener(events::add);
+
+		gantt.removeAnySteps(List.of(subStep, steps.get(2)));
+
+		assertEquals(List.of("s0", "s1"), Steps.uids(gantt));
+		assertNull(gantt.getSubStep("s0.0"));
+		assertEquals(1, events.size());
+		assertEquals(List.of("s2"), events.get(0).getSteps().map(Step::getUid).toList());
+		gantt.checkIndexConsistency();
+	}
+
+	@Test
+	void removeSteps_nothingRemoved_firesNoEvent() {
+		MockUI ui = new MockUI();
+		Gantt gantt = Steps.newGantt();
+		ui.add(gantt);
+		gantt.addSteps(Steps.newSteps(3));
+		List<GanttDataChangeEvent> events = new ArrayList<>();
+		gantt.addDataChangeListener(events::add);
+
+		gantt.removeSteps(List.of(Steps.newStep(5)));
+
+		assertEquals(List.of(), events);
+		assertEquals(List.of("s0", "s1", "s2"), Steps.uids(gantt));
+	}
+}
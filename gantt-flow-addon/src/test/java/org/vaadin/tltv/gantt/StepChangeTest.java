@@ -0,0 +1,173 @@
+/*
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+
+
+package org.vaadin.tltv.gantt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.vaadin.tltv.gantt.element.StepElement;
+import org.vaadin.tltv.gantt.model.GanttStep;
+import org.vaadin.tltv.gantt.model.Step;
+import org.vaadin.tltv.gantt.util.GanttUtil;
+
+import com.vaadin.flow.component.UI;
+
+class StepChangeTest {
+
+	@AfterEach
+	void clearCurrentUI() {
+		UI.setCurrent(null);
+	}
+
+	@Test
+	void attachedStep_elementAttributesChangeBeforeResponse() {
+		MockUI ui = new MockUI();
+		Gantt gantt = Steps.newGantt();
+		ui.add(gantt);
+		Step step = Steps.newStep(0);
+		gantt.addStep(step);
+		ui.roundTrip();
+		StepElement stepElement = gantt.getStepElement(step.getUid());
+
+		step.setCaption("Changed");
+		step.setBackgroundColor("red");
+
+		assertEquals("Step 0", stepElement.getElement().getAttribute("caption"));
+		assertEquals(GanttStep.CAPTION | GanttStep.BACKGROUND_COLOR, step.getDirtyFields());
+		// one change per attribute.
+		assertEquals(2, ui.roundTrip());
+		assertEquals("Changed", stepElement.getElement().getAttribute("caption"));
+		assertEquals("red", stepElement.getElement().getAttribute("backgroundColor"));
+		assertEquals(0, step.getDirtyFields());
+	}
+
+	@Test
+	void attachedStep_stepElementGettersReturnNewValues() {
+		MockUI ui = new MockUI();
+		Gantt gantt = Steps.newGantt();
+		gantt.setVirtualTimeRange(true);
+		ui.add(gantt);
+		Step step = Steps.newStep(0);
+		gantt.addStep(step);
+		ui.roundTrip();
+		StepElement stepElement = gantt.getStepElement(step.getUid());
+		LocalDateTime start = Steps.START.plusDays(100);
+
+		step.setCaption("Changed");
+		step.setStartDate(start);
+		step.setEndDate(start.plusDays(1));
+
+		assertEquals("Changed", stepElement.getCaption());
+		assertEquals(start, stepElement.getStartDateTime());
+		assertEquals(start.plusDays(1), stepElement.getEndDateTime());
+		// dirty bits are kept for the chart, which updates its indexes on flush.
+		assertEquals(GanttStep.CAPTION | GanttStep.DATES, step.getDirtyFields());
+		ui.roundTrip();
+		assertEquals(0, step.getDirtyFields());
+		gantt.checkIndexConsistency();
+	}
+
+	@Test
+	void detachedStep_changesElementRightAway() {
+		Gantt gantt = Steps.newGantt();
+		Step step = Steps.newStep(0);
+		gantt.addStep(step);
+		StepElement stepElement = gantt.getStepElement(step.getUid());
+
+		step.setCaption("Changed");
+
+		assertEquals("Changed", stepElement.getElement().getAttribute("caption"));
+		assertEquals(0, step.getDirtyFields());
+	}
+
+	@Test
+	void unchangedChart_refreshSendsNoChanges() {
+		MockUI ui = new MockUI();
+		Gantt gantt = Steps.newGantt();
+		ui.add(gantt);
+		List<Step> steps = Steps.newSteps(50);
+		gantt.addSteps(steps);
+		gantt.addSubStep(Steps.newSubStep(steps.get(0), 0));
+		ui.roundTrip();
+
+		steps.forEach(step -> gantt.refresh(step.getUid()));
+		gantt.getFlatStepElements().forEach(StepElement::refresh);
+		StepElement stepElement = gantt.getStepElement("s1");
+		stepElement.setCaption("Step 1");
+		// same hour as before.
+		stepElement.setStartDateTime(stepElement.getStartDateTime().plusMinutes(30));
+		steps.get(1).setCaption("Step 1");
+		steps.get(1).setEndDate(steps.get(1).getEndDate());
+
+		assertEquals(0, steps.get(1).getDirtyFields());
+		assertEquals(0, ui.roundTrip());
+	}
+
+	@Test
+	void changedStep_writesOnlyChangedAttributes() {
+		MockUI ui = new MockUI();
+		Gantt gantt = Steps.newGantt();
+		ui.add(gantt);
+		Step step = Steps.newStep(0);
+		gantt.addStep(step);
+		ui.roundTrip();
+		StepElement stepElement = gantt.getStepElement(step.getUid());
+
+		// end stays within the same hour.
+		step.setStartDate(step.getStartDate().plusHours(1));
+		step.setEndDate(step.getEndDate().plusMinutes(10));
+
+		assertEquals(1, ui.roundTrip(stepElement.getElement().getNode()));
+		assertEquals(GanttUtil.formatDateTime(step.getStartDate()), stepElement.getElement().getAttribute("start"));
+	}
+
+	@Test
+	void settersAndGettersInOneRoundTrip_sendSingleChange() {
+		MockUI ui = new MockUI();
+		Gantt gantt = Steps.newGantt();
+		ui.add(gantt);
+		Step step = Steps.newStep(0);
+		gantt.addStep(step);
+		ui.roundTrip();
+		StepElement stepElement = gantt.getStepElement(step.getUid());
+
+		for (int index = 0; index < 5; index++) {
+			step.setCaption("Changed " + index);
+			assertEquals("Changed " + index, stepElement.getCaption());
+		}
+		// fields without an attribute are not marked.
+		step.setStyleName("style");
+		step.setMovable(false);
+		step.setResizable(false);
+
+		// getters don't write to the element before the response.
+		assertEquals("Step 0", stepElement.getElement().getAttribute("caption"));
+		assertEquals(GanttStep.CAPTION, step.getDirtyFields());
+		assertEquals(1, ui.roundTrip());
+		assertEquals("Changed 4", stepElement.getElement().getAttribute("caption"));
+	}
+}
@@ -0,0 +1,113 @@
+/*
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+
+package org.vaadin.tltv.gantt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.vaadin.tltv.gantt.element.StepElement;
+import org.vaadin.tltv.gantt.model.Step;
+import org.vaadin.tltv.gantt.model.SubStep;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.dom.Element;
+import com.vaadin.flow.internal.StateNode;
+import com.vaadin.flow.internal.nodefeature.ElementData;
+
+class StepElementMoveTest {
+
+	@AfterEach
+	void clearCurrentUI() {
+		UI.setCurrent(null);
+	}
+
+	@Test
+	void moveStep_thousandMoves_nodeCountStaysSame() {
+		MockUI ui = new MockUI();
+		Gantt gantt = Steps.newGantt();
+		ui.add(gantt);
+		List<Step> steps = Steps.newSteps(50);
+		gantt.addSteps(steps);
+		for (Step step : steps.subList(0, 10)) {
+			gantt.addSubStep(Steps.newSubStep(step, 0));
+			StepElement stepElement = gantt.getStepElement(step.getUid());
+			stepElement.addTooltip(step.getCaption());
+			stepElement.addContextMenu((menu, uid) -> menu.addItem(uid));
+		}
+		ui.roundTrip();
+		int nodeCount = ui.getNodeCount();
+		Set<Integer> nodeIds = ui.getNodeIds(StepElementMoveTest::isNotTooltip);
+		StepElement movedElement = gantt.getStepElement("s0");
+
+		Random random = new Random(8);
+		for (int move = 0; move < 1000; move++) {
+			Step step = steps.get(random.nextInt(steps.size()));
+			gantt.moveStep(random.nextInt(steps.size()), step);
+			ui.roundTrip();
+			assertEquals(nodeCount, ui.getNodeCount(), "node count after move " + move);
+		}
+
+		// same nodes are kept: none is created and thrown away.
+		assertEquals(nodeIds, ui.getNodeIds(StepElementMoveTest::isNotTooltip));
+		assertSame(movedElement, gantt.getStepElement("s0"));
+		assertEquals(1, movedElement.getTooltips().size());
+		assertEquals(1, movedElement.getContextMenuBuilders().size());
+		gantt.checkIndexConsistency();
+	}
+
+	@Test
+	void moveStep_keepsSubStepElementsInMovedElement() {
+		MockUI ui = new MockUI();
+		Gantt gantt = Steps.newGantt();
+		ui.add(gantt);
+		List<Step> steps = Steps.newSteps(5);
+		gantt.addSteps(steps);
+		SubStep subStep = Steps.newSubStep(steps.get(0), 0);
+		gantt.addSubStep(subStep);
+		StepElement subStepElement = gantt.getStepElement(subStep.getUid());
+		ui.roundTrip();
+		int nodeCount = ui.getNodeCount();
+
+		gantt.moveStep(3, steps.get(0));
+		// only the position is sent: removal from and insertion into the children.
+		assertEquals(2, ui.roundTrip());
+
+		assertEquals(List.of("s1", "s2", "s3", "s0", "s4"), Steps.uids(gantt));
+		assertEquals(gantt.getStepElement("s0").getElement(), subStepElement.getElement().getParent());
+		assertEquals(gantt.getStepElement("s0").getElement(), gantt.getElement().getChild(3));
+		assertEquals(nodeCount, ui.getNodeCount());
+	}
+
+	/**
+	 * Tooltip re-registers its element when the target is attached again, so
+	 * its node id changes even though the tooltip instance is kept.
+	 */
+	private static boolean isNotTooltip(StateNode node) {
+		return !node.hasFeature(ElementData.class) || !"vaadin-tooltip".equals(Element.get(node).getTag());
+	}
+}
@@ -0,0 +1,168 @@
+/*
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+
+
+
+package org.vaadin.tltv.gantt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.vaadin.tltv.gantt.model.Step;
+
+class StepHierarchyIndexTest {
+
+	/**
+	 * Plain parent and children lists to check the index against. Roots are the
+	 * children of the null parent.
+	 */
+	private static final class Tree {
+		private final Map<String, String> parents = new HashMap<>();
+		private final Map<String, List<String>> children = new HashMap<>();
+
+		List<String> getChildren(String uid) {
+			return children.computeIfAbsent(uid, key -> new ArrayList<>());
+		}
+
+		void add(String parentUid, String uid) {
+			parents.put(uid, parentUid);
+			getChildren(parentUid).add(uid);
+		}
+
+		void remove(String uid) {
+			getChildren(parents.get(uid)).remove(uid);
+			getDescendants(uid).forEach(parents::remove);
+			parents.remove(uid);
+		}
+
+		/**
+		 * Moves given step to the given index among the other children of the
+		 * given parent.
+		 */
+		void move(String uid, String parentUid, int index) {
+			getChildren(parents.get(uid)).remove(uid);
+			parents.put(uid, parentUid);
+			getChildren(parentUid).add(index, uid);
+		}
+
+		List<String> getDescendants(String uid) {
+			List<String> descendants = new ArrayList<>();
+			for (String child : getChildren(uid)) {
+				descendants.add(child);
+				descendants.addAll(getDescendants(child));
+			}
+			return descendants;
+		}
+
+		List<String> getUids() {
+			return new ArrayList<>(parents.keySet());
+		}
+	}
+
+	@Test
+	void mixedOperations_matchPlainTree() {
+		StepHierarchyIndex index = new StepHierarchyIndex();
+		Tree tree = new Tree();
+		Random random = new Random(1);
+		int nextUid = 0;
+
+		for (int operation = 0; operation < 1000; operation++) {
+			List<String> uids = tree.getUids();
+			String uid = uids.isEmpty() ? null : uids.get(random.nextInt(uids.size()));
+			// random step or null for the roots, outside the sub tree of the picked step.
+			List<String> targets = new ArrayList<>(uids);
+			targets.add(null);
+			if (uid != null) {
+				targets.remove(uid);
+				targets.removeAll(tree.getDescendants(uid));
+			}
+			String parentUid = targets.get(random.nextInt(targets.size()));
+			switch (uid == null ? 0 : random.nextInt(5)) {
+			case 0, 1 -> {
+				Step step = Steps.newStep(nextUid++);
+				index.add(parentUid, step);
+				tree.add(parentUid, step.getUid());
+			}
+			case 2 -> {
+				if (random.nextInt(4) == 0) {
+					index.remove(uid);
+					tree.remove(uid);
+				}
+			}
+			case 3 -> {
+				index.moveToLastChild(uid, parentUid);
+				tree.move(uid, parentUid, (int) tree.getChildren(parentUid).stream().filter(child -> !child.equals(uid)).count());
+			}
+			default -> {
+				List<String> siblings = new ArrayList<>(tree.getChildren(parentUid));
+				siblings.remove(uid);
+				int siblingIndex = random.nextInt(siblings.size() + 1) - 1;
+				index.moveAfterSibling(uid, parentUid, siblingIndex < 0 ? null : siblings.get(siblingIndex));
+				tree.move(uid, parentUid, siblingIndex + 1);
+			}
+			}
+			assertEquals(tree.parents.size(), index.size());
+			if (uid != null && index.contains(uid)) {
+				assertMatches(tree, index, uid);
+			}
+		}
+		for (String uid : tree.getUids()) {
+			assertMatches(tree, index, uid);
+			for (String other : tree.getUids()) {
+				assertEquals(tree.getDescendants(uid).contains(other), index.isDescendant(uid, other),
+						other + " descendant of " + uid);
+			}
+		}
+	}
+
+	@Test
+	void missingStep_hasNoDescendants() {
+		StepHierarchyIndex index = new StepHierarchyIndex();
+		index.add(null, Steps.newStep(0));
+		index.add("s0", Steps.newStep(1));
+
+		assertTrue(index.isDescendant("s0", "s1"));
+		assertFalse(index.isDescendant("s1", "s0"));
+		assertFalse(index.isDescendant("s0", "s0"));
+		assertFalse(index.isDescendant("s0", "s2"));
+		assertEquals(0, index.getDescendantCount("s2"));
+
+		index.remove("s0");
+
+		assertEquals(0, index.size());
+		assertFalse(index.contains("s1"));
+	}
+
+	private static void assertMatches(Tree tree, StepHierarchyIndex index, String uid) {
+		List<String> descendants = new ArrayList<>();
+		index.forEachDescendant(uid, step -> descendants.add(step.getUid()));
+		assertEquals(tree.getDescendants(uid), descendants, "descendants of " + uid);
+		assertEquals(descendants.size(), index.getDescendantCount(uid));
+	}
+}
@@ -0,0 +1,156 @@
+/*
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+
+
+
+package org.vaadin.tltv.gantt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.vaadin.tltv.gantt.event.GanttDataChangeEvent.DataEvent;
+import org.vaadin.tltv.gantt.event.StepMoveEvent;
+import org.vaadin.tltv.gantt.event.StepResizeEvent;
+import org.vaadin.tltv.gantt.model.GanttStep;
+import org.vaadin.tltv.gantt.model.Resolution;
+import org.vaadin.tltv.gantt.model.Step;
+import org.vaadin.tltv.gantt.model.SubStep;
+import org.vaadin.tltv.gantt.util.GanttUtil;
+
+import com.vaadin.flow.component.ComponentUtil;
+import com.vaadin.flow.component.UI;
+
+class StepMoveEventTest {
+
+	/**
+	 * Chart that counts UID lookups of steps and sub steps.
+	 */
+	private static final class LookupCountingGantt extends Gantt {
+		private int lookups;
+
+		@Override
+		public GanttStep getAnyStep(String uid) {
+			lookups++;
+			return super.getAnyStep(uid);
+		}
+	}
+
+	@AfterEach
+	void clearCurrentUI() {
+		UI.setCurrent(null);
+	}
+
+	@Test
+	void clientMove_resolvesMovedStepOnce() {
+		MockUI ui = new MockUI();
+		LookupCountingGantt gantt = new LookupCountingGantt();
+		gantt.setResolution(Resolution.Day);
+		ui.add(gantt);
+		List<Step> steps = Steps.newSteps(1000);
+		gantt.addSteps(steps);
+		Step step = steps.get(100);
+		LocalDateTime start = Steps.START.plusDays(500);
+		List<GanttStep> movedSteps = new ArrayList<>();
+		gantt.addStepMoveListener(event -> {
+			movedSteps.add(event.getAnyStep());
+			movedSteps.add(event.getAnyStep());
+		});
+		List<DataEvent> dataEvents = new ArrayList<>();
+		gantt.addDataChangeListener(event -> dataEvents.add(event.getDataEvent()));
+		gantt.lookups = 0;
+
+		fireMove(gantt, step.getUid(), "s900", GanttUtil.formatDateTime(start),
+				GanttUtil.formatDateTime(start.plusDays(2)));
+
+		// moved step once for all the listeners, the target row and the contains check.
+		assertEquals(3, gantt.lookups);
+		assertEquals(900, gantt.indexOf(step.getUid()));
+		assertEquals(start, step.getStartDate());
+		assertEquals(start.plusDays(2), step.getEndDate());
+		assertEquals(List.of(step, step), movedSteps);
+		assertEquals(List.of(DataEvent.STEP_MOVE), dataEvents);
+		gantt.checkIndexConsistency();
+	}
+
+	@Test
+	void clientMove_ofSubStep_movesItToTargetOwner() {
+		MockUI ui = new MockUI();
+		Gantt gantt = Steps.newGantt();
+		ui.add(gantt);
+		List<Step> steps = Steps.newSteps(10);
+		gantt.addSteps(steps);
+		SubStep subStep = Steps.newSubStep(steps.get(1), 0);
+		gantt.addSubStep(subStep);
+		LocalDateTime start = steps.get(5).getStartDate();
+
+		fireMove(gantt, subStep.getUid(), "s5", GanttUtil.formatDateTime(start),
+				GanttUtil.formatDateTime(start.plusHours(1)));
+
+		assertSame(steps.get(5), subStep.getOwner());
+		assertEquals(start, subStep.getStartDate());
+		assertEquals(List.of(subStep), gantt.getSubSteps("s5").toList());
+		gantt.checkIndexConsistency();
+	}
+
+	@Test
+	void eventDates_areParsedOnFirstUse() {
+		Gantt gantt = Steps.newGantt();
+		String start = GanttUtil.formatDateTime(Steps.START);
+		String invalid = "2025-13-45T00:00:00";
+
+		StepMoveEvent moveEvent = new StepMoveEvent(gantt, true, "s0", "s1", start, invalid);
+		StepResizeEvent resizeEvent = new StepResizeEvent(gantt, true, "s0", invalid, start);
+
+		assertEquals(Steps.START, moveEvent.getStart());
+		assertSame(moveEvent.getStart(), moveEvent.getStart());
+		assertThrows(DateTimeParseException.class, moveEvent::getEnd);
+		assertEquals(Steps.START, resizeEvent.getEnd());
+		assertThrows(DateTimeParseException.class, resizeEvent::getStart);
+	}
+
+	@Test
+	void eventStep_isResolvedOnce() {
+		MockUI ui = new MockUI();
+		Gantt gantt = Steps.newGantt();
+		ui.add(gantt);
+		Step step = Steps.newStep(0);
+		gantt.addStep(step);
+		StepResizeEvent event = new StepResizeEvent(gantt, true, step.getUid(), null, null);
+
+		assertSame(step, event.getAnyStep());
+		gantt.removeStep(step);
+
+		assertSame(step, event.getAnyStep());
+		assertEquals(step.getUid(), event.getUid());
+	}
+
+	private static void fireMove(Gantt gantt, String uid, String newUid, String start, String end) {
+		ComponentUtil.fireEvent(gantt, new StepMoveEvent(gantt, true, uid, newUid, start, end));
+	}
+}
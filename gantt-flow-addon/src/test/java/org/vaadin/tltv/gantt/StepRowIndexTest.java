@@ -0,0 +1,131 @@
+/*
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+
+
+
+package org.vaadin.tltv.gantt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class StepRowIndexTest {
+
+	@Test
+	void mixedOperations_matchListOfUids() {
+		StepRowIndex index = new StepRowIndex();
+		List<String> expected = new ArrayList<>();
+		Random random = new Random(1);
+		int nextUid = 0;
+
+		for (int operation = 0; operation < 2000; operation++) {
+			switch (random.nextInt(6)) {
+			case 0 -> {
+				int row = random.nextInt(expected.size() + 1);
+				String uid = "s" + nextUid++;
+				index.insert(row, uid);
+				expected.add(row, uid);
+			}
+			case 1 -> {
+				int row = random.nextInt(expected.size() + 1);
+				List<String> uids = List.of("s" + nextUid++, "s" + nextUid++, "s" + nextUid++);
+				index.insertAll(row, uids);
+				expected.addAll(row, uids);
+			}
+			case 2 -> {
+				if (!expected.isEmpty()) {
+					// move like Gantt does, remove and insert to the target row.
+					String uid = expected.remove(random.nextInt(expected.size()));
+					int row = random.nextInt(expected.size() + 1);
+					index.remove(uid);
+					index.insert(row, uid);
+					expected.add(row, uid);
+				}
+			}
+			case 3 -> {
+				if (!expected.isEmpty()) {
+					String uid = expected.remove(random.nextInt(expected.size()));
+					assertTrue(index.remove(uid));
+				}
+			}
+			case 4 -> {
+				int from = random.nextInt(expected.size() + 1);
+				int to = from + random.nextInt(Math.min(5, expected.size() - from) + 1);
+				List<String> removed = new ArrayList<>(expected.subList(from, to));
+				index.removeRange(from, to);
+				expected.subList(from, to).clear();
+				removed.forEach(uid -> assertFalse(index.contains(uid)));
+			}
+			default -> {
+				String uid = "s" + nextUid++;
+				index.add(uid);
+				expected.add(uid);
+			}
+			}
+			assertEquals(expected.size(), index.size());
+			if (!expected.isEmpty()) {
+				int row = random.nextInt(expected.size());
+				String uid = expected.get(row);
+				assertEquals(uid, index.get(row));
+				assertEquals(row, index.indexOf(uid));
+				int to = row + random.nextInt(expected.size() - row + 1);
+				assertEquals(expected.subList(row, to), index.range(row, to));
+			}
+		}
+		assertEquals(expected, index.toList());
+		for (int row = 0; row < expected.size(); row++) {
+			assertEquals(row, index.indexOf(expected.get(row)));
+		}
+	}
+
+	@Test
+	void missingUid_hasNoRow() {
+		StepRowIndex index = new StepRowIndex();
+		index.add("s0");
+
+		assertEquals(-1, index.indexOf("s1"));
+		assertFalse(index.contains("s1"));
+		assertFalse(index.remove("s1"));
+		assertEquals(List.of("s0"), index.toList());
+	}
+
+	@Test
+	void invalidInsert_leavesIndexUnchanged() {
+		StepRowIndex index = new StepRowIndex();
+		index.insertAll(0, List.of("s0", "s1"));
+
+		assertThrows(IllegalArgumentException.class, () -> index.insert(0, "s1"));
+		assertThrows(IllegalArgumentException.class, () -> index.insertAll(0, List.of("s2", "s2")));
+		assertThrows(IllegalArgumentException.class, () -> index.insertAll(0, List.of("s2", "s0")));
+		assertThrows(IndexOutOfBoundsException.class, () -> index.insert(3, "s2"));
+		assertThrows(IndexOutOfBoundsException.class, () -> index.get(2));
+		assertThrows(IndexOutOfBoundsException.class, () -> index.range(1, 3));
+		assertEquals(List.of("s0", "s1"), index.toList());
+		assertFalse(index.contains("s2"));
+	}
+}
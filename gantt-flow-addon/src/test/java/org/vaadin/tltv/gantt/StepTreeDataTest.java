@@ -0,0 +1,121 @@
+/*
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+
+package org.vaadin.tltv.gantt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.vaadin.tltv.gantt.model.Step;
+
+/**
+ * Checks that mutations made directly through the {@link com.vaadin.flow.data.provider.hierarchy.TreeData}
+ * API keep the hierarchy index of {@link StepTreeData} in sync.
+ */
+class StepTreeDataTest {
+
+	private final List<Step> steps = Steps.newSteps(8);
+	private final StepTreeData treeData = new StepTreeData(step -> step);
+
+	@Test
+	void addItems_indexesAllForms() {
+		treeData.addItems(null, steps.get(0), steps.get(1));
+		treeData.addItems(steps.get(0), List.of(steps.get(2), steps.get(3)));
+		treeData.addRootItems(Stream.of(steps.get(4)));
+		treeData.addItems(List.of(steps.get(5)),
+				step -> step == steps.get(5) ? List.of(steps.get(6)) : step == steps.get(6) ? List.of(steps.get(7))
+						: List.of());
+
+		assertIndexMatches();
+		assertEquals(2, treeData.getDescendantCount(steps.get(0)));
+		assertEquals(2, treeData.getDescendantCount(steps.get(5)));
+	}
+
+	@Test
+	void removeItem_removesSubTree() {
+		treeData.addItems(null, steps.get(0), steps.get(1));
+		treeData.addItems(steps.get(0), steps.get(2), steps.get(3));
+		treeData.addItems(steps.get(2), steps.get(4));
+
+		treeData.removeItem(steps.get(2));
+
+		assertIndexMatches();
+		assertEquals(1, treeData.getDescendantCount(steps.get(0)));
+		assertFalse(treeData.isDescendant(steps.get(0), steps.get(4)));
+	}
+
+	@Test
+	void removeNullItem_clearsIndex() {
+		treeData.addItems(null, steps.get(0), steps.get(1));
+		treeData.addItems(steps.get(0), steps.get(2));
+
+		treeData.removeItem(null);
+		assertIndexMatches();
+		assertEquals(0, treeData.getDescendantCount(steps.get(0)));
+
+		// re-adding the same steps must not fail as duplicates.
+		treeData.addItems(null, steps.get(2), steps.get(0));
+		treeData.addItems(steps.get(2), steps.get(1));
+		assertIndexMatches();
+	}
+
+	@Test
+	void clear_clearsIndex() {
+		treeData.addItems(null, steps.get(0));
+		treeData.addItems(steps.get(0), steps.get(1), steps.get(2));
+
+		treeData.clear();
+		assertIndexMatches();
+		assertEquals(0, treeData.getDescendantCount(steps.get(0)));
+
+		treeData.addItems(null, steps.get(1));
+		treeData.addItems(steps.get(1), steps.get(0));
+		assertIndexMatches();
+	}
+
+	private void assertIndexMatches() {
+		for (Step step : steps) {
+			List<Step> expected = treeData.contains(step) ? getDescendants(step) : List.of();
+			List<Step> descendants = new ArrayList<>();
+			treeData.forEachDescendant(step, descendants::add);
+			assertEquals(expected, descendants, "descendants of " + step.getUid());
+			assertEquals(expected.size(), treeData.getDescendantCount(step));
+			for (Step other : steps) {
+				assertEquals(expected.contains(other), treeData.isDescendant(step, other),
+						other.getUid() + " descendant of " + step.getUid());
+			}
+		}
+	}
+
+	private List<Step> getDescendants(Step step) {
+		List<Step> descendants = new ArrayList<>();
+		for (Step child : treeData.getChildren(step)) {
+			descendants.add(child);
+			descendants.addAll(getDescendants(child));
+		}
+		return descendants;
+	}
+}
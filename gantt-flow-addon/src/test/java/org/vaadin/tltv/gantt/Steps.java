@@ -0,0 +1,88 @@
+/*
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+
+package org.vaadin.tltv.gantt;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.vaadin.tltv.gantt.model.Resolution;
+import org.vaadin.tltv.gantt.model.Step;
+import org.vaadin.tltv.gantt.model.SubStep;
+
+/**
+ * Builds steps and charts for the tests. Step <code>i</code> has UID
+ * <code>"s" + i</code> and starts <code>i</code> days after {@link #START}.
+ * Shared with the benchmarks through the test jar.
+ */
+public final class Steps {
+
+	public static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+	private Steps() {
+	}
+
+	public static Step newStep(int index) {
+		Step step = new Step();
+		step.setUid("s" + index);
+		step.setCaption("Step " + index);
+		step.setStartDate(START.plusDays(index));
+		step.setEndDate(step.getStartDate().plusDays(1));
+		return step;
+	}
+
+	public static List<Step> newSteps(int count) {
+		List<Step> steps = new ArrayList<>(count);
+		for (int index = 0; index < count; index++) {
+			steps.add(newStep(index));
+		}
+		return steps;
+	}
+
+	public static SubStep newSubStep(Step owner, int index) {
+		SubStep subStep = new SubStep(owner);
+		subStep.setUid(owner.getUid() + "." + index);
+		subStep.setCaption(owner.getCaption() + "." + index);
+		subStep.setStartDate(owner.getStartDate().plusHours(index));
+		subStep.setEndDate(subStep.getStartDate().plusHours(1));
+		return subStep;
+	}
+
+	/**
+	 * Returns a new chart with day resolution covering a year from
+	 * {@link #START}.
+	 */
+	public static Gantt newGantt() {
+		Gantt gantt = new Gantt();
+		gantt.setResolution(Resolution.Day);
+		gantt.setStartDate(START.toLocalDate());
+		gantt.setEndDate(START.toLocalDate().plusYears(1));
+		return gantt;
+	}
+
+	/**
+	 * Returns UIDs of the chart's steps in the row order.
+	 */
+	public static List<String> uids(Gantt gantt) {
+		return gantt.getSteps().map(Step::getUid).toList();
+	}
+}
@@ -0,0 +1,136 @@
+/*
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+
+
+package org.vaadin.tltv.gantt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.vaadin.tltv.gantt.element.StepElement;
+import org.vaadin.tltv.gantt.model.GanttStep;
+import org.vaadin.tltv.gantt.model.Step;
+import org.vaadin.tltv.gantt.model.SubStep;
+
+import com.vaadin.flow.component.UI;
+
+class SubStepTest {
+
+	@AfterEach
+	void clearCurrentUI() {
+		UI.setCurrent(null);
+	}
+
+	@Test
+	void subStepQueries_returnOnlyOwnersSubStepsInOrder() {
+		MockUI ui = new MockUI();
+		Gantt gantt = Steps.newGantt();
+		ui.add(gantt);
+		List<Step> steps = Steps.newSteps(3);
+		gantt.addSteps(steps);
+		for (int index = 0; index < 3; index++) {
+			gantt.addSubStep(Steps.newSubStep(steps.get(0), index));
+			gantt.addSubStep(Steps.newSubStep(steps.get(2), index));
+		}
+
+		assertEquals(List.of("s0.0", "s0.1", "s0.2"), subStepUids(gantt, "s0"));
+		assertEquals(List.of(), subStepUids(gantt, "s1"));
+		assertEquals(List.of("s2.0", "s2.1", "s2.2"), subStepUids(gantt, "s2"));
+		assertEquals(List.of("s0.0", "s0.1", "s0.2"),
+				gantt.getSubStepElements("s0").map(element -> element.getUid()).toList());
+		assertEquals(List.of("s0.0", "s0.1", "s0.2", "s2.0", "s2.1", "s2.2"),
+				gantt.getSubSteps().map(GanttStep::getUid).toList());
+		assertSame(steps.get(2), gantt.getSubStep("s2.1").getOwner());
+		assertEquals(6, gantt.getSubStepElementCount());
+		gantt.checkIndexConsistency();
+	}
+
+	@Test
+	void removedSubStepAndOwner_leaveTheIndex() {
+		MockUI ui = new MockUI();
+		Gantt gantt = Steps.newGantt();
+		ui.add(gantt);
+		List<Step> steps = Steps.newSteps(2);
+		gantt.addSteps(steps);
+		SubStep removed = Steps.newSubStep(steps.get(0), 0);
+		gantt.addSubStep(removed);
+		gantt.addSubStep(Steps.newSubStep(steps.get(0), 1));
+		gantt.addSubStep(Steps.newSubStep(steps.get(1), 0));
+
+		gantt.removeAnyStep(removed);
+		assertEquals(List.of("s0.1"), subStepUids(gantt, "s0"));
+		assertNull(gantt.getSubStep("s0.0"));
+
+		gantt.removeStep(steps.get(0));
+		assertEquals(List.of(), subStepUids(gantt, "s0"));
+		assertNull(gantt.getSubStep("s0.1"));
+		assertEquals(List.of("s1.0"), gantt.getSubSteps().map(GanttStep::getUid).toList());
+		assertEquals(1, gantt.getSubStepElementCount());
+		gantt.checkIndexConsistency();
+	}
+
+	@Test
+	void moveSubStep_keepsElementAndUpdatesBothOwners() {
+		MockUI ui = new MockUI();
+		Gantt gantt = Steps.newGantt();
+		ui.add(gantt);
+		List<Step> steps = Steps.newSteps(3);
+		gantt.addSteps(steps);
+		SubStep moved = Steps.newSubStep(steps.get(0), 0);
+		gantt.addSubStep(moved);
+		gantt.addSubStep(Steps.newSubStep(steps.get(0), 1));
+		steps.get(0).setEndDate(Steps.START.plusHours(2));
+		StepElement element = gantt.getStepElement(moved.getUid());
+		element.addTooltip("Tooltip");
+		element.addContextMenu((menu, uid) -> {
+		});
+		ui.roundTrip();
+		int nodeCount = ui.getNodeCount();
+
+		gantt.moveSubStep(2, moved);
+
+		assertSame(steps.get(2), moved.getOwner());
+		assertSame(element, gantt.getStepElement(moved.getUid()));
+		assertEquals(gantt.getStepElement("s2").getElement(), element.getElement().getParent());
+		assertEquals(1, element.getTooltips().size());
+		assertEquals(1, element.getContextMenuBuilders().size());
+		assertEquals(List.of("s0.1"), subStepUids(gantt, "s0"));
+		assertEquals(List.of("s0.0"), subStepUids(gantt, "s2"));
+		// previous owner fits to its remaining sub step, new owner includes the moved one.
+		assertEquals(Steps.START.plusHours(1), steps.get(0).getStartDate());
+		assertEquals(Steps.START.plusHours(2), steps.get(0).getEndDate());
+		assertEquals(Steps.START, steps.get(2).getStartDate());
+		assertEquals(Steps.START.plusDays(3), steps.get(2).getEndDate());
+		ui.roundTrip();
+		assertEquals(nodeCount, ui.getNodeCount());
+		assertEquals(Steps.START, gantt.getStepElement("s2").getStartDateTime());
+		gantt.checkIndexConsistency();
+	}
+
+	private static List<String> subStepUids(Gantt gantt, String ownerUid) {
+		return gantt.getSubSteps(ownerUid).map(GanttStep::getUid).toList();
+	}
+}
@@ -0,0 +1,84 @@
+/*
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+
+package org.vaadin.tltv.gantt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.vaadin.tltv.gantt.model.Step;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.dom.Element;
+
+class VirtualRowsTest {
+
+	@AfterEach
+	void clearCurrentUI() {
+		UI.setCurrent(null);
+	}
+
+	@Test
+	void virtualRowSync_keepsOtherChildren() {
+		MockUI ui = new MockUI();
+		Gantt gantt = Steps.newGantt();
+		gantt.setVirtualRows(true);
+		ui.add(gantt);
+		List<Step> steps = Steps.newSteps(100);
+		gantt.addSteps(steps);
+		Element other = new Element("span");
+		gantt.getElement().appendChild(other);
+		ui.roundTrip();
+
+		gantt.removeSteps(steps.subList(10, 20));
+		gantt.setVirtualRowsOverscan(5);
+		ui.roundTrip();
+
+		assertEquals(gantt.getElement(), other.getParent());
+		gantt.checkIndexConsistency();
+	}
+
+	@Test
+	void viewportListener_isSentOnlyOnAttach() {
+		MockUI ui = new MockUI();
+		Gantt gantt = Steps.newGantt();
+		gantt.setVirtualRows(true);
+		ui.add(gantt);
+		gantt.addSteps(Steps.newSteps(100));
+		assertEquals(1, ui.roundTripJavaScript().stream()
+				.filter(expression -> expression.contains("ganttConnector.initLazy(this)")).count());
+
+		gantt.setVirtualRowsOverscan(5);
+		assertEquals(List.of(), ui.roundTripJavaScript());
+		assertEquals(5, gantt.getElement().getProperty("virtualRowsOverscan", 0));
+
+		gantt.setVirtualTimeRange(true);
+		List<String> expressions = ui.roundTripJavaScript();
+		assertEquals(1, expressions.size());
+		assertTrue(expressions.get(0).contains("this.$connector.resetViewport()"));
+		assertTrue(gantt.getElement().getProperty("virtualTimeRange", false));
+		assertTrue(gantt.getElement().getProperty("virtualRows", false));
+	}
+}
@@ -0,0 +1,160 @@
+/*
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+
+package org.vaadin.tltv.gantt.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.vaadin.tltv.gantt.Gantt;
+import org.vaadin.tltv.gantt.MockUI;
+import org.vaadin.tltv.gantt.Steps;
+import org.vaadin.tltv.gantt.event.StepMoveEvent;
+import org.vaadin.tltv.gantt.model.Step;
+import org.vaadin.tltv.gantt.util.GanttUtil;
+
+import com.vaadin.flow.component.ComponentUtil;
+import com.vaadin.flow.component.UI;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class MicrometerGanttMetricsTest {
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	private final MockUI ui = new MockUI();
+
+	@AfterEach
+	void clearCurrentUI() {
+		UI.setCurrent(null);
+	}
+
+	@Test
+	void operationsCallsAndEvents_areRecorded() {
+		Gantt gantt = newGantt("a");
+		List<Step> steps = Steps.newSteps(3);
+		gantt.addSteps(steps);
+		gantt.moveStep(2, steps.get(0));
+		gantt.removeSteps(List.of(steps.get(1)));
+		ComponentUtil.fireEvent(gantt, new StepMoveEvent(gantt, true, "s2", "s0",
+				GanttUtil.formatDateTime(steps.get(2).getStartDate()),
+				GanttUtil.formatDateTime(steps.get(2).getEndDate())));
+		gantt.addSubStep(Steps.newSubStep(steps.get(0), 0));
+
+		assertEquals(2, getTimerCount("a", "add"));
+		// the client move moves the step too.
+		assertEquals(2, getTimerCount("a", "move"));
+		assertEquals(1, getTimerCount("a", "remove"));
+		assertEquals(1, registry.get("gantt.client.events").tags("view", "a", "event", "StepMoveEvent").counter()
+				.count());
+		assertTrue(registry.get("gantt.client.calls").tags("view", "a").counter().count() > 0);
+		assertEquals(2, getGaugeValue("gantt.step.elements", "a"));
+		assertEquals(1, getGaugeValue("gantt.substep.elements", "a"));
+	}
+
+	@Test
+	void twoGantts_reportOwnCounts() {
+		Gantt first = newGantt("a");
+		Gantt second = newGantt("b");
+		first.addSteps(Steps.newSteps(3));
+		second.addSteps(Steps.newSteps(5));
+
+		assertEquals(3, getGaugeValue("gantt.step.elements", "a"));
+		assertEquals(5, getGaugeValue("gantt.step.elements", "b"));
+		assertEquals(1, getTimerCount("a", "add"));
+		assertEquals(1, getTimerCount("b", "add"));
+	}
+
+	@Test
+	void ganttWithSameTags_keepsGaugeOfFirstGantt() {
+		Gantt first = newGantt("a");
+		first.addSteps(Steps.newSteps(3));
+		Gantt second = newGantt("a");
+		second.addSteps(Steps.newSteps(5));
+
+		assertEquals(1, registry.find("gantt.step.elements").gauges().size());
+		assertEquals(3, getGaugeValue("gantt.step.elements", "a"));
+		// timers are shared.
+		assertEquals(2, getTimerCount("a", "add"));
+
+		ui.remove(second);
+		assertEquals(3, getGaugeValue("gantt.step.elements", "a"));
+		ui.remove(first);
+		assertNull(registry.find("gantt.step.elements").gauge());
+	}
+
+	@Test
+	void detach_removesGauges() {
+		Gantt gantt = newGantt("a");
+		gantt.addSteps(Steps.newSteps(3));
+
+		ui.remove(gantt);
+		assertNull(registry.find("gantt.step.elements").gauge());
+		assertNull(registry.find("gantt.substep.elements").gauge());
+		// timers and counters are kept.
+		assertEquals(1, getTimerCount("a", "add"));
+
+		ui.add(gantt);
+		assertEquals(3, getGaugeValue("gantt.step.elements", "a"));
+
+		gantt.setMetrics(null);
+		assertNull(registry.find("gantt.step.elements").gauge());
+	}
+
+	@Test
+	void bindToSecondGantt_throws() {
+		MicrometerGanttMetrics metrics = new MicrometerGanttMetrics(registry, Tags.of("view", "a"));
+		Gantt first = Steps.newGantt();
+		first.setMetrics(metrics);
+		ui.add(first);
+		Gantt second = Steps.newGantt();
+		ui.add(second);
+
+		assertThrows(IllegalStateException.class, () -> second.setMetrics(metrics));
+
+		// detached Gantt can be replaced by another one.
+		ui.remove(first);
+		second.setMetrics(metrics);
+		second.addSteps(Steps.newSteps(2));
+		assertEquals(2, getGaugeValue("gantt.step.elements", "a"));
+	}
+
+	private Gantt newGantt(String view) {
+		Gantt gantt = Steps.newGantt();
+		gantt.setMetrics(new MicrometerGanttMetrics(registry, Tags.of("view", view)));
+		ui.add(gantt);
+		return gantt;
+	}
+
+	private long getTimerCount(String view, String operation) {
+		return registry.get("gantt.operations").tags("view", view, "operation", operation).timer().count();
+	}
+
+	private double getGaugeValue(String name, String view) {
+		return registry.get(name).tags("view", view).gauge().value();
+	}
+}
@@ -0,0 +1,182 @@
+/*
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+
+
+package org.vaadin.tltv.gantt.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalQuery;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.vaadin.tltv.gantt.model.Resolution;
+
+/**
+ * Compares the fixed width codec of {@link GanttUtil} with the
+ * {@link DateTimeFormatter}s it replaced.
+ */
+class GanttUtilTest {
+
+	private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH':'mm':'ss");
+	private static final DateTimeFormatter DATE_HOUR = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH");
+	private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+	private static final int[] YEARS = { -999_999_998, -10_000, -2024, -1, 0, 1, 9, 99, 999, 1000, 1582, 1899,
+			1900, 1999, 2000, 2024, 2025, 9998, 9999, 10_000, 99_999, 999_999_998 };
+
+	@ParameterizedTest
+	@EnumSource(Resolution.class)
+	void format_matchesFormatters(Resolution resolution) {
+		for (LocalDateTime sample : samples()) {
+			for (LocalDateTime dateTime : List.of(GanttUtil.resetTimeToMin(sample, resolution),
+					GanttUtil.resetTimeToMax(sample, resolution, false),
+					GanttUtil.resetTimeToMax(sample, resolution, true))) {
+				assertEquals(DATE_TIME.format(dateTime), GanttUtil.formatDateTime(dateTime), dateTime::toString);
+				assertEquals(DATE_HOUR.format(dateTime), GanttUtil.formatDateHour(dateTime), dateTime::toString);
+				assertEquals(DATE.format(dateTime), GanttUtil.formatDate(dateTime), dateTime::toString);
+				assertEquals(DATE.format(dateTime.toLocalDate()), GanttUtil.formatDate(dateTime.toLocalDate()),
+						dateTime::toString);
+			}
+		}
+	}
+
+	@ParameterizedTest
+	@EnumSource(Resolution.class)
+	void parse_matchesFormatters(Resolution resolution) {
+		for (LocalDateTime sample : samples()) {
+			LocalDateTime dateTime = GanttUtil.resetTimeToMin(sample, resolution);
+			for (String text : List.of(DATE_TIME.format(dateTime), DATE_HOUR.format(dateTime), DATE.format(dateTime))) {
+				assertParse(text, DATE_TIME::parse, GanttUtil::parseDateTime, LocalDateTime::from);
+				assertParse(text, DATE_HOUR::parse, GanttUtil::parseDateHour, LocalDateTime::from);
+				assertParse(text, DATE::parse, GanttUtil::parseDate, LocalDate::from);
+				assertParse(text, GanttUtilTest::parse, GanttUtil::parse, LocalDate::from);
+				assertParse(text, GanttUtilTest::parse, GanttUtil::parse, LocalTime::from);
+				assertParse(text, GanttUtilTest::parseLocalDateTime, GanttUtil::parseLocalDateTime,
+						LocalDateTime::from);
+			}
+		}
+	}
+
+	@Test
+	void parse_outOfRangeAndMalformedValues_matchFormatters() {
+		// lenient day of month, invalid fields and broken shapes.
+		for (String text : List.of("2023-02-29T00:00:00", "2024-02-30T12:00:00", "2025-04-31T00:00:00",
+				"2025-13-01T00:00:00", "2025-00-10T00:00:00", "2025-01-00T00:00:00", "2025-01-01T24:00:00",
+				"2025-01-01T23:60:00", "2025-01-01T23:59:60", "0000-01-01T00:00:00", "2025-01-01 00:00:00",
+				"2025/01/01T00:00:00", "2O25-01-01T00:00:00", "+2025-01-1T00:00:0")) {
+			assertParse(text, DATE_TIME::parse, GanttUtil::parseDateTime, LocalDateTime::from);
+			assertParse(text, GanttUtilTest::parseLocalDateTime, GanttUtil::parseLocalDateTime,
+					LocalDateTime::from);
+			assertParse(text.substring(0, 13), DATE_HOUR::parse, GanttUtil::parseDateHour, LocalDateTime::from);
+			assertParse(text.substring(0, 10), DATE::parse, GanttUtil::parseDate, LocalDate::from);
+		}
+	}
+
+	@Test
+	void otherTemporals_areFormattedWithFormatters() {
+		ZonedDateTime dateTime = ZonedDateTime.of(2025, 3, 30, 3, 30, 15, 0, ZoneId.of("Europe/Helsinki"));
+
+		assertEquals(DATE_TIME.format(dateTime), GanttUtil.formatDateTime(dateTime));
+		assertEquals(DATE_HOUR.format(dateTime), GanttUtil.formatDateHour(dateTime));
+		assertEquals(DATE.format(dateTime), GanttUtil.formatDate(dateTime));
+	}
+
+	/**
+	 * Asserts that the codec parses given text to the same value as the previous
+	 * implementation, or fails with the same exception type.
+	 */
+	private static void assertParse(String text, Function<CharSequence, TemporalAccessor> expected,
+			Function<CharSequence, TemporalAccessor> parser, TemporalQuery<?> query) {
+		assertEquals(query(() -> expected.apply(text).query(query)), query(() -> parser.apply(text).query(query)),
+				text);
+	}
+
+	private static Object query(Supplier<Object> query) {
+		try {
+			return query.get();
+		} catch (RuntimeException e) {
+			return e.getClass();
+		}
+	}
+
+	/** {@link GanttUtil#parse(CharSequence)} before the codec. */
+	private static TemporalAccessor parse(CharSequence text) {
+		if (text.length() > 13) {
+			return DATE_TIME.parse(text);
+		} else if (text.length() > 10) {
+			return DATE_HOUR.parse(text);
+		}
+		return DATE.parse(text);
+	}
+
+	/** {@link GanttUtil#parseLocalDateTime(CharSequence)} before the codec. */
+	private static LocalDateTime parseLocalDateTime(CharSequence text) {
+		return LocalDateTime.from(DATE_TIME.parse(text.subSequence(0, 19)));
+	}
+
+	/**
+	 * Returns datetimes around the year boundaries of {@link #YEARS}, leap days
+	 * and daylight saving time transitions of two zones.
+	 */
+	private static List<LocalDateTime> samples() {
+		List<LocalDateTime> samples = new ArrayList<>();
+		for (int year : YEARS) {
+			samples.add(LocalDateTime.of(year, 1, 1, 0, 0));
+			samples.add(LocalDateTime.of(year, 1, 1, 0, 0, 1));
+			samples.add(LocalDateTime.of(year, 6, 15, 12, 34, 56));
+			samples.add(LocalDateTime.of(year, 12, 31, 23, 59, 59));
+			samples.add(LocalDateTime.of(year, 2, 28, 23, 59, 59).plusSeconds(1));
+		}
+		for (int year : List.of(1900, 2000, 2023, 2024, 2100, 2400)) {
+			LocalDate endOfFebruary = LocalDate.of(year, 3, 1).minusDays(1);
+			samples.add(endOfFebruary.atTime(LocalTime.MAX));
+			samples.add(endOfFebruary.atStartOfDay());
+		}
+		for (String zone : List.of("Europe/Helsinki", "America/New_York")) {
+			ZoneRules rules = ZoneId.of(zone).getRules();
+			ZoneOffsetTransition transition = rules.nextTransition(LocalDateTime.of(2024, 1, 1, 0, 0)
+					.atZone(ZoneId.of(zone)).toInstant());
+			for (int index = 0; index < 4; index++) {
+				LocalDateTime before = transition.getDateTimeBefore();
+				LocalDateTime after = transition.getDateTimeAfter();
+				samples.addAll(List.of(before.minusSeconds(1), before, before.plusMinutes(30), after,
+						after.minusSeconds(1), after.plusSeconds(1)));
+				transition = rules.nextTransition(transition.getInstant());
+			}
+		}
+		return samples;
+	}
+}
@@ -0,0 +1,118 @@
+/*
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+
+package org.vaadin.tltv.gantt.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.vaadin.tltv.gantt.Gantt;
+import org.vaadin.tltv.gantt.MockUI;
+import org.vaadin.tltv.gantt.Steps;
+import org.vaadin.tltv.gantt.model.Step;
+
+/**
+ * Time of bulk step operations on an attached chart, each measured once on a
+ * new chart including the server side part of the round trip.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+public class BulkStepBenchmark {
+
+	/**
+	 * Empty chart and <code>size</code> steps to add.
+	 */
+	@State(Scope.Thread)
+	public static class EmptyChart {
+
+		@Param({ "1000", "10000", "100000" })
+		int size;
+
+		MockUI ui;
+		Gantt gantt;
+		List<Step> steps;
+
+		@Setup(Level.Invocation)
+		public void setup() {
+			ui = new MockUI();
+			gantt = Steps.newGantt();
+			ui.add(gantt);
+			ui.roundTrip();
+			steps = Steps.newSteps(size);
+		}
+	}
+
+	/**
+	 * Chart of <code>size</code> steps and every other of them to remove.
+	 */
+	@State(Scope.Thread)
+	public static class FullChart {
+
+		@Param({ "1000", "10000", "100000" })
+		int size;
+
+		MockUI ui;
+		Gantt gantt;
+		List<Step> removedSteps;
+
+		@Setup(Level.Invocation)
+		public void setup() {
+			ui = new MockUI();
+			gantt = Steps.newGantt();
+			ui.add(gantt);
+			List<Step> steps = Steps.newSteps(size);
+			gantt.addSteps(steps);
+			ui.roundTrip();
+			removedSteps = new ArrayList<>(size / 2);
+			for (int index = 0; index < size; index += 2) {
+				removedSteps.add(steps.get(index));
+			}
+		}
+	}
+
+	@Benchmark
+	public int addSteps(EmptyChart chart) {
+		chart.gantt.addSteps(chart.steps);
+		return chart.ui.roundTrip();
+	}
+
+	@Benchmark
+	public int removeSteps(FullChart chart) {
+		chart.gantt.removeSteps(chart.removedSteps);
+		return chart.ui.roundTrip();
+	}
+}
@@ -0,0 +1,133 @@
+/*
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+
+package org.vaadin.tltv.gantt.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.vaadin.tltv.gantt.Gantt;
+import org.vaadin.tltv.gantt.MockUI;
+import org.vaadin.tltv.gantt.Steps;
+import org.vaadin.tltv.gantt.model.Step;
+
+import com.vaadin.flow.component.treegrid.TreeGrid;
+import com.vaadin.flow.data.provider.hierarchy.TreeData;
+
+/**
+ * Time of expanding and collapsing a sub tree of <code>size</code> steps in the
+ * caption tree grid, each measured once on a new chart including the server
+ * side part of the round trip. Sub tree has a root step with children of nine
+ * children each, and the chart has ten root steps.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+public class CaptionTreeBenchmark {
+
+	/**
+	 * Chart with the sub tree built into the caption tree grid.
+	 */
+	@State(Scope.Thread)
+	public abstract static class Tree {
+
+		@Param({ "1000", "10000", "100000" })
+		int size;
+
+		MockUI ui;
+		Gantt gantt;
+		TreeGrid<Step> grid;
+		Step root;
+
+		void build() {
+			ui = new MockUI();
+			gantt = Steps.newGantt();
+			grid = gantt.buildCaptionTreeGrid("Steps");
+			ui.add(gantt, grid);
+			List<Step> roots = Steps.newSteps(10);
+			gantt.addSteps(roots);
+			root = roots.get(0);
+			TreeData<Step> treeData = grid.getTreeData();
+			int index = roots.size();
+			while (index < size) {
+				Step child = Steps.newStep(index++);
+				treeData.addItem(root, child);
+				for (int grandChild = 0; grandChild < 9 && index < size; grandChild++) {
+					treeData.addItem(child, Steps.newStep(index++));
+				}
+			}
+			grid.getDataProvider().refreshAll();
+			ui.roundTrip();
+		}
+	}
+
+	/**
+	 * Chart with the sub tree collapsed.
+	 */
+	@State(Scope.Thread)
+	public static class CollapsedTree extends Tree {
+
+		@Setup(Level.Invocation)
+		public void setup() {
+			build();
+		}
+	}
+
+	/**
+	 * Chart with the whole sub tree expanded.
+	 */
+	@State(Scope.Thread)
+	public static class ExpandedTree extends Tree {
+
+		@Setup(Level.Invocation)
+		public void setup() {
+			build();
+			grid.expandRecursively(List.of(root), Integer.MAX_VALUE);
+			ui.roundTrip();
+		}
+	}
+
+	@Benchmark
+	public int expand(CollapsedTree tree) {
+		tree.grid.expandRecursively(List.of(tree.root), Integer.MAX_VALUE);
+		return tree.ui.roundTrip();
+	}
+
+	@Benchmark
+	public int collapse(ExpandedTree tree) {
+		tree.grid.collapse(tree.root);
+		return tree.ui.roundTrip();
+	}
+}
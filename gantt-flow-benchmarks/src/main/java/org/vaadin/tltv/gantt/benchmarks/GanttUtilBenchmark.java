@@ -0,0 +1,93 @@
+/*
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+
+package org.vaadin.tltv.gantt.benchmarks;
+
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAccessor;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.vaadin.tltv.gantt.Steps;
+import org.vaadin.tltv.gantt.util.GanttUtil;
+
+/**
+ * Throughput of the date formatting and parsing used for every step attribute
+ * and client event.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GanttUtilBenchmark {
+
+	private static final int COUNT = 1024;
+
+	private final LocalDateTime[] dateTimes = new LocalDateTime[COUNT];
+	private final String[] texts = new String[COUNT];
+	private final String[] dateTexts = new String[COUNT];
+	private int next;
+
+	@Setup
+	public void setup() {
+		for (int index = 0; index < COUNT; index++) {
+			dateTimes[index] = Steps.START.plusMinutes(index * 7919L).plusSeconds(index % 60);
+			texts[index] = GanttUtil.formatDateTime(dateTimes[index]);
+			dateTexts[index] = GanttUtil.formatDate(dateTimes[index]);
+		}
+	}
+
+	@Benchmark
+	public String formatDateTime() {
+		return GanttUtil.formatDateTime(dateTimes[next++ & (COUNT - 1)]);
+	}
+
+	@Benchmark
+	public String formatDate() {
+		return GanttUtil.formatDate(dateTimes[next++ & (COUNT - 1)]);
+	}
+
+	@Benchmark
+	public TemporalAccessor parseDateTime() {
+		return GanttUtil.parseDateTime(texts[next++ & (COUNT - 1)]);
+	}
+
+	@Benchmark
+	public TemporalAccessor parseDate() {
+		return GanttUtil.parseDate(dateTexts[next++ & (COUNT - 1)]);
+	}
+
+	@Benchmark
+	public LocalDateTime parseLocalDateTime() {
+		return GanttUtil.parseLocalDateTime(texts[next++ & (COUNT - 1)]);
+	}
+}
@@ -0,0 +1,96 @@
+/*
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+
+
+package org.vaadin.tltv.gantt.benchmarks;
+
+import java.util.List;
+import java.util.function.BiConsumer;
+
+import org.openjdk.jol.info.GraphLayout;
+import org.vaadin.tltv.gantt.Gantt;
+import org.vaadin.tltv.gantt.MockUI;
+import org.vaadin.tltv.gantt.Steps;
+import org.vaadin.tltv.gantt.model.Step;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.data.provider.DataProvider;
+
+/**
+ * Measures heap retained by a chart of <code>size</code> steps in each way of
+ * rendering the steps, after the server side part of the first round trip.
+ * Retained heap is walked from the UI with JOL, and the heap of an empty chart
+ * and of the step models themselves is left out, so the result is the cost of
+ * the chart per step. Run from the benchmark jar with main class
+ * <code>org.vaadin.tltv.gantt.benchmarks.RetainedHeap</code> and optional step
+ * counts as arguments, see README.
+ */
+public final class RetainedHeap {
+
+	private static final int[] DEFAULT_SIZES = { 1000, 10000 };
+
+	private enum Mode {
+		COMPONENTS((gantt, steps) -> gantt.addSteps(steps)),
+		VIRTUAL_ROWS((gantt, steps) -> {
+			gantt.setVirtualRows(true);
+			gantt.addSteps(steps);
+		}),
+		DATA_MODE((gantt, steps) -> {
+			gantt.setDataMode(true);
+			gantt.addSteps(steps);
+		}),
+		DATA_PROVIDER((gantt, steps) -> gantt.setDataProvider(DataProvider.fromCallbacks(
+				query -> steps.stream().skip(query.getOffset()).limit(query.getLimit()), query -> steps.size())));
+
+		private final BiConsumer<Gantt, List<Step>> setup;
+
+		Mode(BiConsumer<Gantt, List<Step>> setup) {
+			this.setup = setup;
+		}
+	}
+
+	private RetainedHeap() {
+	}
+
+	public static void main(String[] args) {
+		int[] sizes = args.length == 0 ? DEFAULT_SIZES
+				: List.of(args).stream().mapToInt(Integer::parseInt).toArray();
+		System.out.printf("%-14s %7s %14s %14s %10s%n", "Mode", "Steps", "Models (B)", "Chart (B)", "B/step");
+		for (Mode mode : Mode.values()) {
+			for (int size : sizes) {
+				MockUI ui = new MockUI();
+				Gantt gantt = Steps.newGantt();
+				ui.add(gantt);
+				ui.roundTrip();
+				long empty = GraphLayout.parseInstance(ui).totalSize();
+
+				List<Step> steps = Steps.newSteps(size);
+				long models = GraphLayout.parseInstance(steps).totalSize();
+				mode.setup.accept(gantt, steps);
+				ui.roundTrip();
+				// models are left out in every mode, as they are retained by the data source too.
+				long chart = GraphLayout.parseInstance(ui).totalSize() - empty - models;
+				System.out.printf("%-14s %7d %14d %14d %10d%n", mode, size, models, chart, chart / size);
+				UI.setCurrent(null);
+			}
+		}
+	}
+}
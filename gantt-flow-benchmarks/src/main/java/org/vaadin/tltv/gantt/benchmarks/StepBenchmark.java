@@ -0,0 +1,159 @@
+/*
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the
+ * rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+
+package org.vaadin.tltv.gantt.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.vaadin.tltv.gantt.Gantt;
+import org.vaadin.tltv.gantt.MockUI;
+import org.vaadin.tltv.gantt.Steps;
+import org.vaadin.tltv.gantt.model.GanttStep;
+import org.vaadin.tltv.gantt.model.Step;
+import org.vaadin.tltv.gantt.model.SubStep;
+
+import com.vaadin.flow.component.UI;
+
+/**
+ * Throughput of single step operations on an attached chart of
+ * <code>size</code> steps, every tenth of them with two sub steps. Operations
+ * that change the chart keep its size, and include the server side part of the
+ * round trip, so the measured cost includes the state tree changes sent to the
+ * client.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+public class StepBenchmark {
+
+	@Param({ "1000", "10000", "100000" })
+	int size;
+
+	private MockUI ui;
+	private Gantt gantt;
+	private Step[] steps;
+	private SubStep[] subSteps;
+	private Step[] owners;
+	private int added;
+	private int next;
+	private final Random random = new Random(42);
+
+	@Setup(Level.Trial)
+	public void setup() {
+		ui = new MockUI();
+		gantt = Steps.newGantt();
+		ui.add(gantt);
+		List<Step> stepList = Steps.newSteps(size);
+		gantt.addSteps(stepList);
+		List<SubStep> subStepList = new ArrayList<>();
+		List<Step> ownerList = new ArrayList<>();
+		for (int index = 0; index < size; index += 10) {
+			Step owner = stepList.get(index);
+			ownerList.add(owner);
+			for (int subIndex = 0; subIndex < 2; subIndex++) {
+				SubStep subStep = Steps.newSubStep(owner, subIndex);
+				gantt.addSubStep(subStep);
+				subStepList.add(subStep);
+			}
+		}
+		ui.roundTrip();
+		steps = stepList.toArray(Step[]::new);
+		subSteps = subStepList.toArray(SubStep[]::new);
+		owners = ownerList.toArray(Step[]::new);
+		added = size;
+	}
+
+	@Setup(Level.Iteration)
+	public void setCurrent() {
+		UI.setCurrent(ui);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		UI.setCurrent(null);
+	}
+
+	@Benchmark
+	public int indexOf() {
+		return gantt.indexOf(steps[random.nextInt(steps.length)]);
+	}
+
+	@Benchmark
+	public GanttStep getAnyStep() {
+		GanttStep step = random.nextBoolean() ? steps[random.nextInt(steps.length)]
+				: subSteps[random.nextInt(subSteps.length)];
+		return gantt.getAnyStep(step.getUid());
+	}
+
+	@Benchmark
+	public int moveStep() {
+		gantt.moveStep(random.nextInt(size), steps[random.nextInt(steps.length)]);
+		return ui.roundTrip();
+	}
+
+	@Benchmark
+	public int moveSubStep() {
+		gantt.moveSubStep(random.nextInt(size), subSteps[random.nextInt(subSteps.length)]);
+		return ui.roundTrip();
+	}
+
+	@Benchmark
+	public int updateSubStepsByMovedOwner() {
+		Step owner = owners[next++ % owners.length];
+		// moves owners back and forth to keep the chart the same.
+		long hours = (next / owners.length) % 2 == 0 ? 1 : -1;
+		owner.setStartDate(owner.getStartDate().plusHours(hours));
+		owner.setEndDate(owner.getEndDate().plusHours(hours));
+		gantt.updateSubStepsByMovedOwner(owner.getUid());
+		return ui.roundTrip();
+	}
+
+	/**
+	 * Adds a step to a random row with {@link Gantt#addStep(int, Step)} and
+	 * removes it with {@link Gantt#removeSteps(java.util.Collection)}.
+	 */
+	@Benchmark
+	public int addAndRemoveStep() {
+		Step step = Steps.newStep(added++);
+		gantt.addStep(random.nextInt(size), step);
+		gantt.removeSteps(List.of(step));
+		return ui.roundTrip();
+	}
+}